@@ -0,0 +1,87 @@
+package Uno;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Scores a whole hand for {@link HeuristicStrategy} with the Vector API, as many cards
+ * at a time as the CPU's widest vectors hold ints.
+ * <p>
+ * This is the only class that uses {@code jdk.incubator.vector}, so it lives in its own
+ * source root and is compiled on its own, after the rest of the game:
+ * <pre>
+ * javac --add-modules jdk.incubator.vector -cp out -d out src-vector/Uno/*.java
+ * </pre>
+ * or with Maven's {@code vector} profile, {@code mvn -P vector package}.
+ * {@link HeuristicStrategy} only loads it when the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}, and scores hands one card at a time from
+ * its table otherwise, also when this class was never compiled.
+ */
+final class HeuristicVectorScorer implements HeuristicStrategy.HandScorer {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    /**
+     * Creates the scorer, which {@link HeuristicStrategy} does by reflection.
+     *
+     * @throws UnsupportedOperationException if the CPU's vectors hold more ints than the
+     *                                       hand's id array is padded to, so the hand is scored without them
+     */
+    HeuristicVectorScorer() {
+        if (SPECIES.length() > Hand.ID_BLOCK) {
+            throw new UnsupportedOperationException(SPECIES.length() + " int lanes do not fit the hand's id array");
+        }
+    }
+
+    /**
+     * Scores every card of the hand against the top card and the active color, and chooses
+     * the playable card with the highest score, the first one of them on a tie, exactly
+     * like {@link HeuristicStrategy#chooseMoveScalar(Hand, long, int, int)}.
+     * <p>
+     * Every vector of card ids is split into color and number, scored at once, and every
+     * card whose bit is not set in the playable mask scores {@code Integer.MIN_VALUE}, below
+     * any playable card. Only a vector with a playable card whose highest score beats the
+     * best so far, or that holds the first playable card, is searched for the lane holding it. Whole vectors are
+     * loaded past the last card, which the id array leaves room for, and the lanes past it
+     * are masked off. Everything is in one method, since the vectors only stay in
+     * registers where the JIT inlines the calls to the Vector API.
+     */
+    @Override
+    public int chooseMove(Hand hand, long playable, int topCardNum, int activeColor, int numberScore,
+                          int actionBonus, int wildBonus, int colorMatchWeight, int cardNumMatchWeight) {
+        int numCards = hand.numCardsInHand();
+        int[] cardIds = hand.getCardIds();
+        IntVector playableLow = IntVector.broadcast(SPECIES, (int) playable);
+        IntVector playableHigh = IntVector.broadcast(SPECIES, (int) (playable >>> 32));
+
+        int bestIndex = numCards;
+        int bestScore = Integer.MIN_VALUE;
+        for (int i = 0; i < numCards; i += SPECIES.length()) {
+            IntVector ids = IntVector.fromArray(SPECIES, cardIds, i);
+            // An id is color * NUM_CARD_NUMS + number
+            IntVector color = IntVector.zero(SPECIES)
+                    .add(1, ids.compare(VectorOperators.GE, Card.NUM_CARD_NUMS))
+                    .add(1, ids.compare(VectorOperators.GE, 2 * Card.NUM_CARD_NUMS))
+                    .add(1, ids.compare(VectorOperators.GE, 3 * Card.NUM_CARD_NUMS));
+            IntVector cardNum = ids.sub(color.mul(Card.NUM_CARD_NUMS));
+            // The id's bit in the playable mask, from the half of it that holds the id; shifts only use the low 5 bits
+            VectorMask<Integer> playableLanes = playableLow.blend(playableHigh, ids.compare(VectorOperators.GE, 32))
+                    .lanewise(VectorOperators.LSHR, ids).and(1).eq(1)
+                    .and(SPECIES.indexInRange(i, numCards));
+
+            IntVector score = IntVector.broadcast(SPECIES, numberScore)
+                    .add(actionBonus, cardNum.compare(VectorOperators.GT, 9))
+                    .add(wildBonus, cardNum.compare(VectorOperators.GE, 13))
+                    .add(colorMatchWeight, color.eq(activeColor))
+                    .add(cardNumMatchWeight, cardNum.eq(topCardNum));
+            score = IntVector.broadcast(SPECIES, Integer.MIN_VALUE).blend(score, playableLanes);
+            int vectorBest = score.reduceLanes(VectorOperators.MAX);
+            if ((vectorBest > bestScore || bestIndex == numCards) && playableLanes.anyTrue()) {
+                bestScore = vectorBest;
+                bestIndex = i + score.eq(vectorBest).and(playableLanes).firstTrue();
+            }
+        }
+        return bestIndex;
+    }
+}
@@ -0,0 +1,61 @@
+package Uno;
+
+/**
+ * Lets a strategy answer the human's questions, so the human's side of the game, with
+ * its prompts, checks and penalties, can be played without anyone at the console.
+ * <p>
+ * The answers are the ones a person following the strategy would type: the number of
+ * the card the strategy picks, then the number of its color if that card is wild, and
+ * "uno" whenever it is asked what it wants to say. Questions asked while no game is
+ * in progress, such as the ANSI check, are answered with 1, and the username is "Auto".
+ */
+public class AutoHumanInput implements InputSource {
+    private final Strategy strategy;
+
+    private Game game;
+    private Player player;
+    private Card.Colors pendingWildColor = null; // The color to name when asked, after choosing a wild card
+
+    /**
+     * Creates an input source that answers with the moves of the given strategy.
+     *
+     * @param strategy the strategy that chooses the human's moves
+     */
+    public AutoHumanInput(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    @Override
+    public int readNumber() {
+        if (pendingWildColor != null) {
+            int answer = pendingWildColor.ordinal() + 1;
+            pendingWildColor = null;
+            return answer;
+        }
+        if (!isPlaying()) return 1;
+
+        Hand hand = player.getHand();
+        int move = strategy.chooseMove(game, hand);
+        if (move < hand.numCardsInHand() && hand.getCardFromHand(move, false).isWild()) {
+            pendingWildColor = strategy.chooseWildColor(game, hand);
+        }
+        return move + 1;
+    }
+
+    @Override
+    public String readLine() {
+        return isPlaying() ? "uno" : "Auto";
+    }
+
+    @Override
+    public void startGame(Game game, Player player) {
+        this.game = game;
+        this.player = player;
+        pendingWildColor = null;
+    }
+
+    // Whether a game this input source answers for is in progress
+    private boolean isPlaying() {
+        return game != null && !game.isGameOver();
+    }
+}
@@ -0,0 +1,196 @@
+package Uno;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Reports of what the engine costs and how well its bots play, run with
+ * {@code java Uno.Main --benchmark}: how much each view writes to the console, what the
+ * metrics show, how an ISMCTS bot and the endgame solver fare against the default bots.
+ * <p>
+ * These only print what they measured. The timed hot paths are JMH benchmarks and the
+ * checks are JUnit tests, both in the {@code test} source root, see {@code pom.xml}:
+ * {@code mvn -B test} runs the tests, and {@code mvn -B -P jmh -DskipTests verify} runs
+ * the benchmarks with {@code -prof gc}.
+ */
+public class Benchmark {
+    public static void main(String[] args) {
+        reportRendering(200);
+        reportMetrics(20_000);
+        reportIsmcts(20, 20);
+        reportEndgame(100);
+    }
+
+    /**
+     * Plays bot-only games as if seat 0 were watched by a human, showing every turn and
+     * bot move with both a {@link BoxView} and a {@link ScreenView}, and prints how many
+     * characters each writes per turn.
+     *
+     * @param numGames the number of games to show
+     */
+    public static void reportRendering(int numGames) {
+        CountingStream[] counters = {new CountingStream(), new CountingStream()};
+        PrintStream[] outputs = {new PrintStream(counters[0]), new PrintStream(counters[1])};
+        long turns = 0;
+        PrintStream console = System.out;
+        try {
+            for (int i = 0; i < numGames; i++) {
+                Game game = new Game(4);
+                Player watched = game.getPlayer(0);
+                GameView[] views = {new BoxView(), new ScreenView()};
+                while (!game.isGameOver()) {
+                    Player player = game.getPlayer(game.getCurrentPlayer());
+                    for (int v = 0; v < views.length && player == watched; v++) {
+                        System.setOut(outputs[v]);
+                        views[v].showTurn(game, player);
+                    }
+                    player.makeBotMove();
+                    turns++;
+                    for (int v = 0; v < views.length && player != watched; v++) {
+                        System.setOut(outputs[v]);
+                        views[v].showBotMove(game, player);
+                    }
+                }
+            }
+        } finally {
+            System.setOut(console);
+        }
+        System.out.printf("Rendering: boxes %.0f bytes/turn, screen %.0f bytes/turn (%.1fx less)%n",
+                (double) counters[0].count / turns, (double) counters[1].count / turns,
+                (double) counters[0].count / counters[1].count);
+    }
+
+    // Counts the bytes written to it and throws them away
+    private static class CountingStream extends OutputStream {
+        private long count = 0;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    /**
+     * Plays bot-only games that report to a fresh {@link GameMetrics} and prints what
+     * the metrics show, as a JMX client would see them.
+     *
+     * @param numGames the number of games to play
+     */
+    public static void reportMetrics(int numGames) {
+        GameMetrics metrics = new GameMetrics();
+        for (int i = 0; i < numGames; i++) playGame(new Game(4), metrics);
+        System.out.printf("Metrics: %d games, %.0f turns/s, bot decisions p50 %d ns, p99 %d ns, p99.9 %d ns, max %d ns%n",
+                metrics.getGamesCompleted(), metrics.getTurnsPerSecond(), metrics.getBotDecisionP50Nanos(),
+                metrics.getBotDecisionP99Nanos(), metrics.getBotDecisionP999Nanos(), metrics.getBotDecisionMaxNanos());
+        System.out.printf("Metrics: %.2f reshuffles/game, hand size mean %.1f max %d, Draw Two %.3f/turn, Draw Four %.3f/turn%n",
+                metrics.getReshufflesPerGame(), metrics.getMeanHandSize(), metrics.getMaxHandSize(),
+                metrics.getDrawTwoFrequency(), metrics.getDrawFourFrequency());
+    }
+
+    /**
+     * Plays games with an {@link IsmctsStrategy} bot in the first seat against three
+     * default bots, and reports how often it wins and how many playouts it runs.
+     *
+     * @param numGames       the number of games to play
+     * @param moveTimeMillis the search time per move, in milliseconds
+     */
+    public static void reportIsmcts(int numGames, long moveTimeMillis) {
+        int numThreads = Runtime.getRuntime().availableProcessors();
+        IsmctsStrategy ismcts = new IsmctsStrategy(numThreads, moveTimeMillis);
+        int wins = 0;
+        for (int i = 0; i < numGames; i++) {
+            Game game = new Game(ismcts, HeuristicStrategy.DEFAULT, HeuristicStrategy.DEFAULT, HeuristicStrategy.DEFAULT);
+            while (!game.isGameOver()) {
+                game.getPlayer(game.getCurrentPlayer()).makeBotMove();
+            }
+            if (game.getWinningPlayer() == 0) wins++;
+        }
+        ismcts.shutdown();
+        System.out.printf("ISMCTS (%d ms, %d threads): won %d/%d against 3 default bots, %.0f playouts/s per core%n",
+                moveTimeMillis, numThreads, wins, numGames, ismcts.getPlayoutsPerSecondPerCore());
+    }
+
+    /**
+     * Measures how far the default bot is from perfect play at the end of two-player games,
+     * where the solver's paranoid search is plain minimax. Every position with a choice and
+     * at most {@link EndgameStrategy#DEFAULT_MAX_CARDS_IN_HANDS} cards in the hands is solved,
+     * and wherever the solver proves a win, the default bot's move is solved too, to see
+     * whether it keeps the win or throws it away. Then the same seeded games are played
+     * with an {@link EndgameStrategy} in one seat instead of a default bot, to see how many
+     * more games that seat wins.
+     *
+     * @param numGames the number of games to play
+     */
+    public static void reportEndgame(int numGames) {
+        EndgameSolver solver = new EndgameSolver(EndgameStrategy.DEFAULT_MAX_NODES, 1_000);
+        int positions = 0;
+        int wins = 0;
+        int winsKept = 0;
+        long nodes = 0;
+        long tableHits = 0;
+        long nanos = 0;
+        for (int g = 0; g < numGames; g++) {
+            Game game = new Game(Simulation.createGameRandom(Simulation.getGameSeed(29, g)), 2);
+            for (int turns = 0; !game.isGameOver() && turns < Simulation.MAX_TURNS; turns++) {
+                Player player = game.getPlayer(game.getCurrentPlayer());
+                Hand hand = player.getHand();
+                if (getCardsInHands(game) <= EndgameStrategy.DEFAULT_MAX_CARDS_IN_HANDS && Long.bitCount(hand.getPlayableCardIds()) > 1) {
+                    EndgameSolver.Result result = solver.solve(game);
+                    positions++;
+                    nodes += result.getNodes();
+                    tableHits += result.getTableHits();
+                    nanos += result.getNanos();
+                    if (result.isProvenWin()) {
+                        wins++;
+                        Card card = hand.getCardFromHand(HeuristicStrategy.DEFAULT.chooseMove(game, hand), false);
+                        Card.Colors wildColor = card.isWild() ? HeuristicStrategy.DEFAULT.chooseWildColor(game, hand) : null;
+                        if (solver.solve(game, card.getId(), wildColor).isProvenWin()) winsKept++;
+                    }
+                }
+                player.makeBotMove();
+            }
+        }
+        System.out.printf("Endgame: %d positions, %.0f nodes and %.0f us per solve, %.0f%% table hits; "
+                        + "default bot kept %d of %d proven wins (%.1f%% thrown away)%n",
+                positions, (double) nodes / positions, nanos / 1e3 / positions, 100.0 * tableHits / nodes,
+                winsKept, wins, (wins == 0) ? 0 : 100.0 * (wins - winsKept) / wins);
+
+        EndgameStrategy endgame = new EndgameStrategy();
+        int defaultWins = 0;
+        int endgameWins = 0;
+        for (int g = 0; g < numGames; g++) {
+            long seed = Simulation.getGameSeed(31, g);
+            int seat = g % 2;
+            if (Tournament.playGame(HeuristicStrategy.DEFAULT, HeuristicStrategy.DEFAULT, seed) == seat) defaultWins++;
+            Strategy first = (seat == 0) ? endgame : HeuristicStrategy.DEFAULT;
+            Strategy second = (seat == 1) ? endgame : HeuristicStrategy.DEFAULT;
+            if (Tournament.playGame(first, second, seed) == seat) endgameWins++;
+        }
+        System.out.printf("Endgame: on the same %d two-player games, a seat won %d with the default bot and %d with the endgame bot%n",
+                numGames, defaultWins, endgameWins);
+    }
+
+    // The number of cards in all the hands at the table
+    private static int getCardsInHands(Game game) {
+        int cards = 0;
+        for (int i = 0; i < game.getNumPlayers(); i++) {
+            cards += game.getPlayer(i).getHand().numCardsInHand();
+        }
+        return cards;
+    }
+
+    // Plays a bot-only game to the end, reporting to the given metrics
+    private static Game playGame(Game game, GameMetrics metrics) {
+        game.setMetrics(metrics);
+        for (int turn = 0; turn < Simulation.MAX_TURNS && !game.isGameOver(); turn++) {
+            game.getPlayer(game.getCurrentPlayer()).makeBotMove();
+        }
+        game.setMetrics(null);
+        return game;
+    }
+}
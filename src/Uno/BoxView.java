@@ -0,0 +1,31 @@
+package Uno;
+
+/**
+ * The classic view, which prints a new text box for every turn, move and message,
+ * letting the console scroll. It works on any console, with or without ANSI support.
+ */
+public class BoxView implements GameView {
+    @Override
+    public void showTurn(Game game, Player player) {
+        Hand hand = player.getHand();
+        Utility.Console.writeTUIBox(
+                "Current Card: " + game.getDiscardPile().getTopCard(false).getColoredCardText(game.getActiveColor()) + ";" +
+                        "Number Cards in Hand: " + hand.numCardsInHand() + ";" +
+                        "-".repeat(Utility.Console.getBoxWidth() + 2) + ";" +
+                        hand,
+                false, false);
+    }
+
+    @Override
+    public void showBotMove(Game game, Player bot) {
+        int numCards = bot.getHand().numCardsInHand();
+        Utility.Console.writeTUIBox(bot.getUsername() + ((bot.getLatestPlayedCard().equals("drew a card")) ? " " : " played a ") + bot.getLatestPlayedCard() +
+                        ".;They now have " + numCards + " card(s) left." + ((numCards == 1) ? ";Uno!" : ""),
+                false, false);
+    }
+
+    @Override
+    public void showMessage(String text) {
+        Utility.Console.writeTUIBox(text, false, false);
+    }
+}
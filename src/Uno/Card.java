@@ -4,7 +4,12 @@ package Uno;
  * Represents a card used in the game of Uno.
  * Each card has a numerical identifier and a color. Cards with special
  * numbers correspond to unique actions in the game, such as "Draw Two."
- * Wild cards can change their color during gameplay.
+ * <p>
+ * Cards are immutable flyweights: there is exactly one canonical instance for
+ * every combination of card number and color, each with a small integer id.
+ * Cards are obtained through {@link #of(int, Colors)} or {@link #fromId(int)}
+ * rather than constructed, so they cost nothing to create and can be compared with {@code ==}.
+ * The color chosen for a played wild card is part of the game state, not of the card.
  */
 public class Card {
     /**
@@ -59,30 +64,189 @@ public class Card {
      * Derived from the Colors enum, which includes RED, YELLOW, GREEN, and BLUE.
      * This variable is primarily used to indicate and handle the card's associated color.
      */
-    private Colors cardColor;
+    private final Colors cardColor;
+
+    /**
+     * The number of different card numbers, from 0 to 14.
+     */
+    public static final int NUM_CARD_NUMS = 15;
+
+    /**
+     * The number of distinct cards, one for every card number and color combination.
+     * Card ids range from 0 to {@code NUM_IDS - 1}, which fits in a byte and in the bits of a long.
+     */
+    public static final int NUM_IDS = NUM_CARD_NUMS * 4;
+
+    /**
+     * A bitmask with the bit of every wild card id set, in every color.
+     */
+    public static final long WILD_MASK = getCardNumMask(13) | getCardNumMask(14);
+
+    /**
+     * The canonical card instances, indexed by card id.
+     */
+    private static final Card[] CARDS = new Card[NUM_IDS];
+
+    /**
+     * The number of ways a card can be shown: in each of the four colors, or with no color,
+     * which only makes a difference for wild cards.
+     */
+    private static final int NUM_SHOWN_COLORS = 5;
+
+    /**
+     * The text of every card, indexed by {@code id * NUM_SHOWN_COLORS} plus the ordinal of the color
+     * a wild card is shown in, or plus 4 for a wild card shown without a color. One table holds
+     * the text with ANSI color codes, the other the same text without them.
+     */
+    private static final String[] ANSI_TEXT = new String[NUM_IDS * NUM_SHOWN_COLORS];
+    private static final String[] PLAIN_TEXT = new String[NUM_IDS * NUM_SHOWN_COLORS];
+
+    /**
+     * The mask of every card id that can be played, indexed by {@code topCardId * 4} plus
+     * the ordinal of the active color. This table is the one place the rules for playing
+     * a card are written down; everything that decides whether a card is playable reads it.
+     */
+    private static final long[] PLAYABLE_MASKS = new long[NUM_IDS * 4];
+
+    static {
+        for (Colors color : Colors.values()) {
+            for (int cardNum = 0; cardNum < NUM_CARD_NUMS; cardNum++) {
+                Card card = new Card(cardNum, color);
+                CARDS[card.id] = card;
+            }
+        }
+        for (Card card : CARDS) {
+            for (int shown = 0; shown < NUM_SHOWN_COLORS; shown++) {
+                Colors wildColor = (shown < 4) ? Colors.values()[shown] : null;
+                ANSI_TEXT[card.id * NUM_SHOWN_COLORS + shown] = card.buildCardText(wildColor, true);
+                PLAIN_TEXT[card.id * NUM_SHOWN_COLORS + shown] = card.buildCardText(wildColor, false);
+            }
+            for (Colors activeColor : Colors.values()) {
+                // A card is playable if it has the same number, has the active color, or is wild
+                PLAYABLE_MASKS[card.id * 4 + activeColor.ordinal()] =
+                        getColorMask(activeColor) | getCardNumMask(card.cardNum) | WILD_MASK;
+            }
+        }
+    }
+
+    /**
+     * The compact identifier of the card. Ids are laid out color by color,
+     * so {@code id = color.ordinal() * 15 + cardNum}.
+     */
+    private final int id;
 
     /**
      * Constructs a Uno.Card with a specified number and color.
+     * Only used to build the table of canonical cards.
      *
      * @param cardNumber the numerical identifier of the card which determines its type
      *                   (valid values range from 0 to 14: 0-9 for numbers, 10 for Draw Two,
      *                   11 for Reverse, 12 for Skip, 13 for Wild, and 14 for Wild Draw 4)
      * @param cardColor  the color of the card from the Colors enum (RED, YELLOW, GREEN, or BLUE)
      */
-    public Card(int cardNumber, Colors cardColor) {
+    private Card(int cardNumber, Colors cardColor) {
         this.cardNum = cardNumber;
         this.cardColor = cardColor;
+        this.id = cardColor.ordinal() * NUM_CARD_NUMS + cardNumber;
     }
 
     /**
-     * Compares this card with another card for equality.
-     * Two cards are considered equal if they have the same numerical identifier and color.
+     * Retrieves the canonical card with the specified number and color.
      *
-     * @param otherCard the card to compare with the current card
+     * @param cardNumber the numerical identifier of the card, from 0 to 14
+     * @param cardColor  the color of the card from the Colors enum
+     * @return the one shared instance of that card
+     */
+    public static Card of(int cardNumber, Colors cardColor) {
+        return CARDS[cardColor.ordinal() * NUM_CARD_NUMS + cardNumber];
+    }
+
+    /**
+     * Retrieves the canonical card with the specified id.
+     *
+     * @param id the card id, from 0 to {@code NUM_IDS - 1}
+     * @return the one shared instance of that card
+     */
+    public static Card fromId(int id) {
+        return CARDS[id];
+    }
+
+    /**
+     * Retrieves the compact identifier of the card.
+     *
+     * @return the card id, from 0 to {@code NUM_IDS - 1}
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Retrieves a bitmask with the bit of every card id of the given color set.
+     * Since ids are laid out color by color, this is one block of 15 bits.
+     *
+     * @param color the color to get the mask of
+     * @return the mask of all card ids with that color
+     */
+    public static long getColorMask(Colors color) {
+        return 0x7FFFL << (color.ordinal() * NUM_CARD_NUMS);
+    }
+
+    /**
+     * Retrieves a bitmask with the bit of every card id with the given card number set,
+     * which is one bit in each of the four color blocks.
+     *
+     * @param cardNumber the card number to get the mask of, from 0 to 14
+     * @return the mask of all card ids with that card number
+     */
+    public static long getCardNumMask(int cardNumber) {
+        return (1L | 1L << NUM_CARD_NUMS | 1L << (2 * NUM_CARD_NUMS) | 1L << (3 * NUM_CARD_NUMS)) << cardNumber;
+    }
+
+    /**
+     * Retrieves a bitmask of every card id that can be played on the given top card.
+     * A card is playable if it has the same number, has the active color, or is wild.
+     * The mask is looked up in a precomputed table, so checking a whole hand is a single AND.
+     *
+     * @param topCard     the card on top of the discard pile
+     * @param activeColor the color currently in play, which is the chosen color if the top card is wild
+     * @return the mask of all playable card ids
+     */
+    public static long getPlayableMask(Card topCard, Colors activeColor) {
+        return PLAYABLE_MASKS[topCard.id * 4 + activeColor.ordinal()];
+    }
+
+    /**
+     * Same as {@link #getPlayableMask(Card, Colors)}, for code that keeps cards and colors as numbers.
+     *
+     * @param topCardId   the id of the card on top of the discard pile
+     * @param activeColor the ordinal of the color currently in play
+     * @return the mask of all playable card ids
+     */
+    public static long getPlayableMask(int topCardId, int activeColor) {
+        return PLAYABLE_MASKS[topCardId * 4 + activeColor];
+    }
+
+    /**
+     * Compares this card with another object for equality.
+     * Since every card is canonical, two cards are equal only if they are the same instance,
+     * which is exactly when they have the same numerical identifier and color.
+     *
+     * @param otherCard the object to compare with the current card
      * @return true if the cards have the same number and color, otherwise false
      */
-    public boolean equals(Card otherCard) {
-        return (cardNum == otherCard.cardNum && cardColor == otherCard.cardColor);
+    @Override
+    public boolean equals(Object otherCard) {
+        return this == otherCard;
+    }
+
+    /**
+     * Returns a hash code for the card, which is simply its id.
+     *
+     * @return the card id
+     */
+    @Override
+    public int hashCode() {
+        return id;
     }
 
     /**
@@ -135,35 +299,43 @@ public class Card {
     }
 
     /**
-     * Sets the color for a wild card, allowing it to change its color during gameplay.
-     * This operation is only permitted if the card number represents a wild card (13 or higher).
+     * Determines whether the card is a wild card ("Wild" or "Wild Draw 4"),
+     * whose color is chosen by the player who plays it.
      *
-     * @param color the new color to assign to the wild card, represented as a value from the Colors enum
+     * @return true if the card number is 13 or higher; otherwise, false
      */
-    public void setWildColor(Colors color) {
-        if (cardNum >= 13) {
-            cardColor = color;
-        }
+    public boolean isWild() {
+        return cardNum >= 13;
     }
 
     /**
      * Generates and returns a textual representation of the card with optional color formatting.
-     * If the card is a special wild card (cardNum >= 13) and the `showWildColor` parameter is false,
-     * the card text is returned without the color formatting. For other cards or when `showWildColor`
-     * is true, the color code and card color are included in the output.
-     *
-     * @param showWildColor a boolean indicating whether to include color formatting for wild cards.
-     *                      If true, the color formatting is applied even for wild cards. If false,
-     *                      wild cards are rendered without a color prefix.
-     * @return a string representing the card's color and name, with optional color formatting based
-     *         on the `showWildColor` parameter.
-     */
-    public String getColoredCardText(boolean showWildColor) {
-        if (cardNum < 13 || showWildColor) {
-            return getColorCode(cardColor) + cardColor + " " + getProperName() + Utility.Console.Colors.RESET;
+     * Regular cards are always shown in their own color. Wild cards are shown in the given
+     * color, which is the color chosen when the card was played, or without any color
+     * formatting if no color is given.
+     * <p>
+     * Every text is built once when the class is loaded, with and without ANSI color codes,
+     * and the one matching {@link Utility.Console#canDisplayANSICodes()} is returned.
+     *
+     * @param wildColor the color to show a wild card in, or null to show wild cards without a color
+     * @return a string representing the card's color and name
+     */
+    public String getColoredCardText(Colors wildColor) {
+        String[] text = Utility.Console.canDisplayANSICodes() ? ANSI_TEXT : PLAIN_TEXT;
+        return text[id * NUM_SHOWN_COLORS + ((wildColor == null) ? NUM_SHOWN_COLORS - 1 : wildColor.ordinal())];
+    }
+
+    // Builds the text returned by getColoredCardText, with or without the color codes
+    private String buildCardText(Colors wildColor, boolean withColorCodes) {
+        String text;
+        if (cardNum < 13) {
+            text = getColorCode(cardColor) + cardColor + " " + getProperName() + Utility.Console.Colors.RESET;
+        } else if (wildColor != null) {
+            text = getColorCode(wildColor) + wildColor + " " + getProperName() + Utility.Console.Colors.RESET;
         } else {
-            return Utility.Console.Colors.RESET + getProperName() + Utility.Console.Colors.RESET;
+            text = Utility.Console.Colors.RESET + getProperName() + Utility.Console.Colors.RESET;
         }
+        return withColorCodes ? text : text.replaceAll("\u001B\\[[;\\d]*m", "");
     }
 
     /**
@@ -195,13 +367,15 @@ public class Card {
 
     /**
      * Determines if the current card can be played on top of another card.
-     * A card is playable if it has the same number or the same color as the provided card.
+     * A card is playable if it has the same number as the provided card, if it has the
+     * active color, or if it is a wild card.
      *
-     * @param otherCard the card to compare against for playability
+     * @param otherCard   the card to compare against for playability
+     * @param activeColor the color currently in play, which is the chosen color if the other card is wild
      * @return true if the current card can be played on the provided card; otherwise, false
      */
-    public boolean canPlayCard(Card otherCard) {
-        return (cardNum == otherCard.cardNum || cardColor == otherCard.cardColor || cardNum >= 13);
+    public boolean canPlayCard(Card otherCard, Colors activeColor) {
+        return (getPlayableMask(otherCard, activeColor) & (1L << id)) != 0;
     }
 
     /**
@@ -212,6 +386,6 @@ public class Card {
      * @return a string representing the card's color and name without color formatting for wild cards.
      */
     public String toString() {
-        return getColoredCardText(false);
+        return getColoredCardText(null);
     }
 }
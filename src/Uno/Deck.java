@@ -1,10 +1,18 @@
 package Uno;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
 
-public class Deck {
+/**
+ * A pile of cards, used for both the draw pile and the discard pile.
+ * <p>
+ * The cards are stored as card ids in a primitive array, with the top of the
+ * pile at the end of the used part of the array. Resetting the deck copies a
+ * precomputed template and shuffling is done in place, so neither resetting
+ * nor drawing allocates anything.
+ */
+public final class Deck {
     /*
     Every deck has one 0 of every color,
     Two copies of each number between 1-9 of each color,
@@ -12,7 +20,47 @@ public class Deck {
     One Wild card for each color,
     One Wild Draw 4 card for each color.
      */
-    private List<Card> deck;
+
+    /**
+     * The number of cards in a complete Uno deck.
+     */
+    public static final int DECK_SIZE = 108;
+
+    /**
+     * The ids of every card in a complete, unshuffled deck. Generated once and
+     * copied into a deck whenever it is reset.
+     */
+    private static final byte[] TEMPLATE = generateDeck();
+
+    /**
+     * The card ids in this pile. Only the first {@code size} entries are used,
+     * and the top card is at {@code size - 1}.
+     */
+    private byte[] cards = new byte[DECK_SIZE];
+
+    /**
+     * The number of cards currently in the pile, which is also the index just above the top card.
+     */
+    private int size = 0;
+
+    /**
+     * The source of randomness used to shuffle this deck. Every deck has its own,
+     * so decks on different threads never contend on a shared generator.
+     */
+    private final RandomGenerator random;
+
+    /**
+     * If true, the deck is not shuffled up front; instead each card is picked at
+     * random from the remaining ones when it reaches the top. This gives the same
+     * distribution as a full shuffle but only pays for the cards that are actually drawn.
+     */
+    private final boolean lazyShuffle;
+
+    /**
+     * Whether the card at the top of a lazily shuffled deck has already been picked,
+     * so peeking at the top twice shows the same card.
+     */
+    private boolean topIsPicked = false;
 
     /**
      * Constructs a new Deck instance. If the {@code fillWithCards} parameter is true,
@@ -22,20 +70,38 @@ public class Deck {
      *                      with a shuffled set of Uno cards
      */
     public Deck(boolean fillWithCards) {
+        this(fillWithCards, RandomGenerator.getDefault(), false);
+    }
+
+    /**
+     * Constructs a new Deck instance that shuffles with the given random generator.
+     *
+     * @param fillWithCards a boolean indicating whether the deck should be initialized
+     *                      with a shuffled set of Uno cards
+     * @param random        the random generator used for every shuffle of this deck
+     * @param lazyShuffle   if true, cards are picked at random when they are drawn
+     *                      instead of shuffling the whole deck up front
+     */
+    public Deck(boolean fillWithCards, RandomGenerator random, boolean lazyShuffle) {
+        this.random = random;
+        this.lazyShuffle = lazyShuffle;
         if (fillWithCards) {
-            this.deck = shuffleDeck(generateDeck());
+            resetDeck();
         }
     }
 
     /**
-     * Randomly shuffles the given deck of cards.
-     *
-     * @param deck the list of cards to be shuffled
-     * @return the shuffled deck of cards
+     * Randomly shuffles the cards in the deck in place, using a Fisher-Yates shuffle.
+     * A lazily shuffled deck does not need this, but it does no harm either.
      */
-    private static List<Card> shuffleDeck(List<Card> deck) {
-        Collections.shuffle(deck);
-        return deck;
+    public void shuffleDeck() {
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte card = cards[i];
+            cards[i] = cards[j];
+            cards[j] = card;
+        }
+        topIsPicked = false;
     }
 
     /**
@@ -44,22 +110,24 @@ public class Deck {
      * including numbered cards (0-9), special action cards (Draw Two, Reverse, Skip),
      * and one instance of cards with special functions (Wild, Wild Draw 4).
      *
-     * @return a list containing all the cards in a standard Uno deck.
+     * @return the ids of all the cards in a standard Uno deck.
      */
-    private static List<Card> generateDeck() {
+    private static byte[] generateDeck() {
         // A Uno deck has 108 cards
-        List<Card> deck = new ArrayList<>(108);
+        byte[] deck = new byte[DECK_SIZE];
+        int size = 0;
         // Iterate over all colors, RED, YELLOW, GREEN and BLUE
         for (Card.Colors color : Card.Colors.values()) {
             // Iterate through every type of card
             for (int i = 0; i <= 14; i++) {
+                byte id = (byte) Card.of(i, color).getId();
                 // If it is a 1-9 or Draw Two or Skip or Reverse, add two of them
                 if (i >= 1 && i <= 12) {
-                    deck.add(new Card(i, color));
-                    deck.add(new Card(i, color));
+                    deck[size++] = id;
+                    deck[size++] = id;
                 } else {
                     // Otherwise, add only one card
-                    deck.add(new Card(i, color));
+                    deck[size++] = id;
                 }
             }
         }
@@ -68,16 +136,14 @@ public class Deck {
     }
 
     /**
-     * Prepares the discard pile by ensuring that the top card of the pile
-     * is a valid starting card. Specifically, it repeatedly checks the top card
-     * and removes it from the deck if it has a card number greater than or equal to 13.
-     * This is typically used to eliminate invalid starting cards like "Wild"
-     * or "Wild Draw 4," which may not be suitable as the initial card in certain card games.
+     * Retrieves how many copies of the given card a complete deck contains.
+     *
+     * @param card the card to count
+     * @return 2 for 1-9, Draw Two, Reverse and Skip, 1 for 0, Wild and Wild Draw 4
      */
-    public void prepDiscardPile() {
-        while (getTopCard(false).getCardNum() >= 13) {
-            getTopCard(true);
-        }
+    public static int getCopiesPerDeck(Card card) {
+        int cardNum = card.getCardNum();
+        return (cardNum >= 1 && cardNum <= 12) ? 2 : 1;
     }
 
     /**
@@ -86,42 +152,140 @@ public class Deck {
      * @param card the card to be added to the deck
      */
     public void addCardToPile(Card card) {
-        deck.add(card);
+        if (size == cards.length) {
+            // A single deck always fits, this only happens for piles built up by hand
+            cards = Arrays.copyOf(cards, size * 2);
+        }
+        cards[size++] = (byte) card.getId();
+        topIsPicked = true;
     }
 
     /**
      * Retrieves the top card of the deck. Optionally removes it from the deck.
+     * The deck must not be empty; callers that may run out, like drawing during a game,
+     * check {@link #isEmpty()} first and refill it with {@link #refillFrom(Deck)}.
      *
      * @param removeAfterGet if true, the top card will be removed from the deck after being retrieved.
      * @return the top card of the deck.
+     * @throws Error if the deck is empty
      */
     public Card getTopCard(boolean removeAfterGet) {
-        Card card;
-        try {
-            card = getCard(removeAfterGet);
-        } catch (Exception _) {
-            // If the deck is empty, refill.
-            resetDeck();
-            card = getCard(removeAfterGet);
+        if (size == 0) {
+            throw new Error("Something terrible has occurred. (Tried to take a card from an empty pile)");
+        }
+        if (lazyShuffle && !topIsPicked) {
+            // Swap a random remaining card to the top, one step of a Fisher-Yates shuffle
+            int j = random.nextInt(size);
+            byte card = cards[size - 1];
+            cards[size - 1] = cards[j];
+            cards[j] = card;
         }
-        return card;
-    }
-
-    // This is so I don't have the same code twice
-    private Card getCard(boolean removeAfterGet) {
         // Get the top card
-        Card card = deck.getLast();
-        // Remove it if wanted
-        if (removeAfterGet) deck.removeLast();
+        Card card = Card.fromId(cards[size - 1]);
+        // Remove it if wanted, otherwise remember it so the next look shows the same card
+        if (removeAfterGet) size--;
+        topIsPicked = !removeAfterGet;
         // Return that top card
         return card;
     }
 
     /**
-     * Resets the deck to its initial state by generating a new deck and shuffling it.
+     * Retrieves the number of cards currently in the pile.
+     *
+     * @return the number of cards in the pile
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieves the id of the card at the given position in the pile, without taking it.
+     * Position 0 is the bottom of the pile and {@code size() - 1} is the top.
+     *
+     * @param position the position of the card in the pile
+     * @return the id of the card at that position
+     */
+    public int getCardId(int position) {
+        return cards[position];
+    }
+
+    /**
+     * Determines whether the pile has no cards left.
+     *
+     * @return true if the pile is empty; otherwise, false
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Moves every card except the top one from the given pile into this deck and shuffles it.
+     * This is how an empty draw pile is refilled from the discard pile: the top discard
+     * stays where it is, and no cards are created or lost.
+     *
+     * @param pile the pile to take the cards from, usually the discard pile
+     * @return the number of cards moved into this deck
+     */
+    public int refillFrom(Deck pile) {
+        int moved = pile.size - 1;
+        if (moved <= 0) return 0;
+        if (size + moved > cards.length) {
+            cards = Arrays.copyOf(cards, size + moved);
+        }
+        // Move everything under the top card, then slide the top card down to the bottom
+        System.arraycopy(pile.cards, 0, cards, size, moved);
+        size += moved;
+        pile.cards[0] = pile.cards[moved];
+        pile.size = 1;
+        if (!lazyShuffle) {
+            shuffleDeck();
+        }
+        topIsPicked = false;
+        return moved;
+    }
+
+    /**
+     * Writes the cards of this pile, from the bottom up, into a snapshot.
+     *
+     * @param buffer the buffer to write to
+     */
+    void writeSnapshot(ByteBuffer buffer) {
+        buffer.putShort((short) size);
+        buffer.put(cards, 0, size);
+        buffer.put((byte) (topIsPicked ? 1 : 0));
+    }
+
+    /**
+     * Replaces the cards of this pile with the ones written by {@link #writeSnapshot(ByteBuffer)}.
+     *
+     * @param buffer the buffer to read from
+     */
+    void readSnapshot(ByteBuffer buffer) {
+        size = buffer.getShort();
+        if (size > cards.length) cards = new byte[size];
+        buffer.get(cards, 0, size);
+        topIsPicked = buffer.get() != 0;
+    }
+
+    /**
+     * Retrieves the number of bytes {@link #writeSnapshot(ByteBuffer)} writes for this pile.
+     *
+     * @return the size of the pile's snapshot
+     */
+    int getSnapshotSize() {
+        return 3 + size;
+    }
+
+    /**
+     * Resets the deck to a complete, shuffled deck by copying the precomputed template.
      * This ensures the deck is reset and randomized when the deck runs out.
      */
     public void resetDeck() {
-        deck = shuffleDeck(generateDeck());
+        System.arraycopy(TEMPLATE, 0, cards, 0, DECK_SIZE);
+        size = DECK_SIZE;
+        topIsPicked = false;
+        if (!lazyShuffle) {
+            shuffleDeck();
+        }
     }
 }
@@ -0,0 +1,715 @@
+package Uno;
+
+import java.util.Arrays;
+
+/**
+ * Searches the end of a game exactly, to find a move that wins by force.
+ * <p>
+ * The solver sees everything: every hand at the table, not just the current player's,
+ * and the cards left in the draw pile. The draw pile of a table is shuffled lazily, so
+ * the order its cards come out in is not decided until they are drawn; the solver fixes
+ * one order by shuffling a copy of the pile with a seed taken from the position, so the
+ * same position is always solved the same way. Its answers are therefore exact for that
+ * one order of the draw pile, and only a guess about the real one whenever a line of play
+ * needs a card from the pile.
+ * <p>
+ * The search is paranoid alpha-beta: the player whose turn it is tries to win, and every
+ * other player is assumed to work together to stop them. A proven win is a win whatever
+ * the others do, while a proven loss only means the others could stop the player if they
+ * all played against them. The search deepens one move at a time, and remembers every
+ * position it has scored in a transposition table keyed by a Zobrist hash, so positions
+ * reached by different orders of the same moves are only searched once. Moves are made
+ * and unmade in place on a compact copy of the table, with the same rules as
+ * {@link Player#action(int, Card.Colors)}: a Draw Two or Wild Draw 4 makes the next player
+ * draw without skipping them, a bot that draws keeps its turn and a human passes, and
+ * every color a wild card can name is a move of its own. The discard pile is never
+ * shuffled back into the draw pile; a line of play that empties the draw pile is scored
+ * like a line that ran out of search depth.
+ * <p>
+ * Every search stops at a budget of nodes and of time, whichever runs out first, and
+ * answers with the deepest result it finished. A solver keeps its table between searches
+ * and is not thread-safe; every thread needs its own. Apart from the result it returns, a
+ * search allocates nothing.
+ */
+public final class EndgameSolver {
+    /**
+     * The number of bits of the transposition table's index, so it holds 65536 positions.
+     */
+    public static final int DEFAULT_TABLE_BITS = 16;
+
+    /**
+     * The move number for drawing a card. Every other move is {@code cardId * 4 + color},
+     * where the color is the one a wild card names, or the card's own color.
+     */
+    private static final int DRAW = Card.NUM_IDS * 4;
+
+    /**
+     * The score of winning at the root. A win or loss found further down scores one less per
+     * move to it, so faster wins and slower losses are preferred.
+     */
+    private static final int WIN = 30_000;
+    private static final int INFINITY = WIN + 1;
+
+    private static final int MAX_PLY = 256;
+    private static final int MAX_DEPTH = MAX_PLY - 1;
+
+    /**
+     * The most moves a position can have: every card id but the wilds once, every wild
+     * once per color, and drawing.
+     */
+    private static final int MAX_MOVES = Card.NUM_IDS + 3 * Long.bitCount(Card.WILD_MASK) + 1;
+
+    /**
+     * The most copies of one card a hand can hold, which is how many copies of a card
+     * a deck has at most.
+     */
+    private static final int MAX_COPIES = 2;
+
+    // The kinds of score a transposition table entry holds
+    private static final int EXACT = 0;
+    private static final int LOWER_BOUND = 1;
+    private static final int UPPER_BOUND = 2;
+
+    /**
+     * The clock is only read every this many nodes, which must be a power of two.
+     */
+    private static final int NODES_PER_CLOCK_CHECK = 1024;
+
+    /**
+     * The order moves are tried in, by card number: cards that hurt the next player first,
+     * then numbers, and wild cards, which are best kept for later, last.
+     */
+    private static final long[] MOVE_ORDER = {
+            Card.getCardNumMask(14), Card.getCardNumMask(10), Card.getCardNumMask(12), Card.getCardNumMask(11),
+            ~(Card.getCardNumMask(10) | Card.getCardNumMask(11) | Card.getCardNumMask(12) | Card.WILD_MASK),
+            Card.getCardNumMask(13)
+    };
+
+    // The Zobrist keys of everything but the hands, whose keys depend on the number of players
+    private static final long[] TURN_KEYS = new long[64];
+    private static final long REVERSED_KEY;
+    private static final long[] COLOR_KEYS = new long[4];
+    private static final long[] TOP_CARD_KEYS = new long[Card.NUM_IDS];
+    private static final long[] DRAWN_KEYS = new long[Deck.DECK_SIZE + 1];
+
+    static {
+        long seed = 0x5EED_0F_E4D6A3EL;
+        int n = 0;
+        for (int i = 0; i < TURN_KEYS.length; i++) TURN_KEYS[i] = Simulation.getGameSeed(seed, n++);
+        REVERSED_KEY = Simulation.getGameSeed(seed, n++);
+        for (int i = 0; i < COLOR_KEYS.length; i++) COLOR_KEYS[i] = Simulation.getGameSeed(seed, n++);
+        for (int i = 0; i < TOP_CARD_KEYS.length; i++) TOP_CARD_KEYS[i] = Simulation.getGameSeed(seed, n++);
+        for (int i = 0; i < DRAWN_KEYS.length; i++) DRAWN_KEYS[i] = Simulation.getGameSeed(seed, n++);
+    }
+
+    private final long maxNodes;
+    private final long maxNanos;
+
+    // The transposition table: the key of every entry, and its score, depth, kind and best move
+    private final long[] tableKeys;
+    private final long[] tableEntries;
+    private final int tableMask;
+
+    // The position being searched
+    private int numPlayers = 0;
+    private int[] cardCounts = new int[0]; // cardCounts[player * Card.NUM_IDS + id]
+    private long[] cardMasks = new long[0];
+    private int[] handSizes = new int[0];
+    private boolean[] drawKeepsTurn = new boolean[0];
+    private long[] handKeys = new long[0]; // handKeys[(player * Card.NUM_IDS + id) * MAX_COPIES + copy]
+    private final byte[] drawOrder = new byte[Deck.DECK_SIZE];
+    private final int[] pileCounts = new int[Card.NUM_IDS];
+    private int drawPileSize;
+    private int drawn;
+    private int current;
+    private int flowDirection;
+    private int activeColor;
+    private int topCard;
+    private int root;
+    private long key;
+    private long salt;
+
+    // What every move changed, to unmake it, by ply
+    private final int[] undoCurrent = new int[MAX_PLY];
+    private final int[] undoFlowDirection = new int[MAX_PLY];
+    private final int[] undoActiveColor = new int[MAX_PLY];
+    private final int[] undoTopCard = new int[MAX_PLY];
+    private final int[] undoDrawn = new int[MAX_PLY];
+    private final int[] undoDrawingPlayer = new int[MAX_PLY];
+    private final long[] undoKey = new long[MAX_PLY];
+    private final int[] moves = new int[MAX_PLY * MAX_MOVES];
+
+    // The state of the current search
+    private long nodes;
+    private long tableHits;
+    private long deadline;
+    private boolean aborted;
+    private long horizonLeaves;
+
+    /**
+     * Creates a solver with a transposition table of the default size.
+     *
+     * @param maxNodes  the most positions one search may visit
+     * @param maxMillis the most time one search may take, in milliseconds
+     */
+    public EndgameSolver(long maxNodes, long maxMillis) {
+        this(maxNodes, maxMillis, DEFAULT_TABLE_BITS);
+    }
+
+    /**
+     * Creates a solver with a transposition table of {@code 2^tableBits} positions, which
+     * takes 16 bytes per position.
+     *
+     * @param maxNodes  the most positions one search may visit
+     * @param maxMillis the most time one search may take, in milliseconds
+     * @param tableBits the number of bits of the table's index, from 0 to 30
+     */
+    public EndgameSolver(long maxNodes, long maxMillis, int tableBits) {
+        this.maxNodes = maxNodes;
+        this.maxNanos = maxMillis * 1_000_000;
+        tableKeys = new long[1 << tableBits];
+        tableEntries = new long[1 << tableBits];
+        tableMask = (1 << tableBits) - 1;
+    }
+
+    /**
+     * Searches for the best move of the player whose turn it is.
+     *
+     * @param game the table to solve, which is not changed
+     * @return the best move found and what it leads to
+     * @throws Error if the game is already over
+     */
+    public Result solve(Game game) {
+        return solve(game, DRAW + 1);
+    }
+
+    /**
+     * Searches what the given move of the player whose turn it is leads to, which is how
+     * a move chosen some other way is compared with the best one.
+     *
+     * @param game      the table to solve, which is not changed
+     * @param cardId    the id of the card to play, or -1 to draw a card
+     * @param wildColor the color to name if the card is wild, ignored otherwise
+     * @return what the move leads to
+     * @throws Error if the game is already over or the move is not legal
+     */
+    public Result solve(Game game, int cardId, Card.Colors wildColor) {
+        int move = DRAW;
+        if (cardId >= 0) {
+            move = cardId * 4 + (Card.fromId(cardId).isWild() ? wildColor.ordinal() : cardId / Card.NUM_CARD_NUMS);
+        }
+        return solve(game, move);
+    }
+
+    // Searches every root move, or only the given one if it is a move number
+    private Result solve(Game game, int onlyMove) {
+        if (game.isGameOver()) {
+            throw new Error("Something terrible has occurred. (Tried to solve a game that is over)");
+        }
+        long start = System.nanoTime();
+        load(game);
+        long rootKey = key;
+        nodes = 0;
+        tableHits = 0;
+        aborted = false;
+        deadline = start + maxNanos;
+
+        int numMoves = generateMoves(0, -1);
+        if (numMoves == 0) {
+            // Drawing from an empty pile is scored like the end of the search
+            moves[0] = DRAW;
+            numMoves = 1;
+        }
+        if (onlyMove <= DRAW) {
+            boolean legal = false;
+            for (int i = 0; i < numMoves; i++) legal |= moves[i] == onlyMove;
+            if (!legal) throw new Error("Something terrible has occurred. (Tried to solve an illegal move)");
+            moves[0] = onlyMove;
+            numMoves = 1;
+        }
+
+        int bestMove = moves[0];
+        int bestScore = 0;
+        int depth = 0;
+        while (depth < MAX_DEPTH) {
+            horizonLeaves = 0;
+            int iterationMove = -1;
+            int iterationScore = -INFINITY;
+            for (int i = 0; i < numMoves; i++) {
+                int move = moves[i];
+                int score = scoreMove(move, depth, 0, Math.max(iterationScore, -INFINITY + 1), INFINITY);
+                if (aborted) break;
+                if (score > iterationScore) {
+                    iterationScore = score;
+                    iterationMove = move;
+                }
+            }
+            if (aborted) {
+                // A win found before the budget ran out is still a win
+                if (iterationMove >= 0 && iterationScore > bestScore && isWin(iterationScore)) {
+                    bestMove = iterationMove;
+                    bestScore = iterationScore;
+                }
+                break;
+            }
+            bestMove = iterationMove;
+            bestScore = iterationScore;
+            depth++;
+            if (isWin(bestScore) || isLoss(bestScore) || horizonLeaves == 0) break;
+
+            // Try the best move first in the next, deeper iteration
+            for (int i = 1; i < numMoves; i++) {
+                if (moves[i] == bestMove) {
+                    moves[i] = moves[0];
+                    moves[0] = bestMove;
+                    break;
+                }
+            }
+        }
+
+        if (key != rootKey) {
+            throw new Error("Something terrible has occurred. (The solver did not unmake every move)");
+        }
+        return new Result(bestMove, bestScore, depth, nodes, tableHits, System.nanoTime() - start);
+    }
+
+    // Makes a move at the given ply, scores it and unmakes it
+    private int scoreMove(int move, int depth, int ply, int alpha, int beta) {
+        int mover = current;
+        int score;
+        if (!makeMove(move, ply)) {
+            // The draw pile ran out, which the search does not follow however deep it looks
+            score = evaluate();
+        } else if (handSizes[mover] == 0) {
+            score = (mover == root) ? WIN - ply - 1 : -(WIN - ply - 1);
+        } else {
+            score = search(depth, ply + 1, alpha, beta);
+        }
+        unmakeMove(move, ply);
+        return score;
+    }
+
+    /**
+     * Scores the current position from the root player's point of view, searching the
+     * given number of moves deep.
+     */
+    private int search(int depth, int ply, int alpha, int beta) {
+        if ((++nodes & (NODES_PER_CLOCK_CHECK - 1)) == 0 && (nodes >= maxNodes || System.nanoTime() >= deadline)) {
+            aborted = true;
+        }
+        if (aborted) return 0;
+
+        int slot = (int) (key ^ salt) & tableMask;
+        int tableMove = -1;
+        if (tableKeys[slot] == (key ^ salt)) {
+            long entry = tableEntries[slot];
+            int score = fromTable((short) entry, ply);
+            int entryDepth = (int) (entry >>> 16) & 0xFF;
+            int kind = (int) (entry >>> 24) & 0xFF;
+            tableMove = (int) (entry >>> 32);
+            if (entryDepth >= depth || isWin(score) || isLoss(score)) {
+                tableHits++;
+                if (kind == EXACT) return score;
+                if (kind == LOWER_BOUND && score >= beta) return score;
+                if (kind == UPPER_BOUND && score <= alpha) return score;
+            }
+        }
+
+        if (depth == 0 || ply >= MAX_PLY - 1) {
+            horizonLeaves++;
+            return evaluate();
+        }
+
+        int base = ply * MAX_MOVES;
+        int numMoves = generateMoves(base, tableMove);
+        if (numMoves == 0) {
+            // Nothing to play and nothing left to draw
+            return evaluate();
+        }
+
+        boolean maximizing = current == root;
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int best = maximizing ? -INFINITY : INFINITY;
+        int bestMove = moves[base];
+        for (int i = 0; i < numMoves; i++) {
+            int move = moves[base + i];
+            int score = scoreMove(move, depth - 1, ply, alpha, beta);
+            if (aborted) return 0;
+            if (maximizing ? score > best : score < best) {
+                best = score;
+                bestMove = move;
+            }
+            if (maximizing) alpha = Math.max(alpha, score);
+            else beta = Math.min(beta, score);
+            if (alpha >= beta) break;
+        }
+
+        int kind = (best <= originalAlpha) ? UPPER_BOUND : (best >= originalBeta) ? LOWER_BOUND : EXACT;
+        tableKeys[slot] = key ^ salt;
+        tableEntries[slot] = ((long) bestMove << 32) | ((long) kind << 24) | ((long) depth << 16) | (toTable(best, ply) & 0xFFFF);
+        return best;
+    }
+
+    // Wins and losses are stored relative to the position, not the root
+    private static int toTable(int score, int ply) {
+        return isWin(score) ? score + ply : isLoss(score) ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        return isWin(score) ? score - ply : isLoss(score) ? score + ply : score;
+    }
+
+    private static boolean isWin(int score) {
+        return score > WIN - MAX_PLY && score <= WIN;
+    }
+
+    private static boolean isLoss(int score) {
+        return score < -(WIN - MAX_PLY) && score >= -WIN;
+    }
+
+    /**
+     * Guesses the score of a position the search does not follow any further: the closer
+     * the root player is to the opponent closest to going out, the better.
+     */
+    private int evaluate() {
+        int closest = Integer.MAX_VALUE;
+        for (int player = 0; player < numPlayers; player++) {
+            if (player != root) closest = Math.min(closest, handSizes[player]);
+        }
+        return (closest - handSizes[root]) * 100;
+    }
+
+    /**
+     * Writes the legal moves of the current player at the given offset of the move buffer,
+     * the given move first if it is one of them, and the rest in {@link #MOVE_ORDER}.
+     *
+     * @return the number of moves, which is 0 if the player can neither play nor draw
+     */
+    private int generateMoves(int base, int firstMove) {
+        long playable = cardMasks[current] & Card.getPlayableMask(topCard, activeColor);
+        if (playable == 0) {
+            if (drawn == drawPileSize) return 0;
+            moves[base] = DRAW;
+            return 1;
+        }
+
+        int numMoves = 0;
+        for (long cards : MOVE_ORDER) {
+            for (long ids = playable & cards; ids != 0; ids &= ids - 1) {
+                int id = Long.numberOfTrailingZeros(ids);
+                if ((Card.WILD_MASK & (1L << id)) == 0) {
+                    moves[base + numMoves++] = id * 4 + id / Card.NUM_CARD_NUMS;
+                    continue;
+                }
+                // Name the colors the player holds the most cards of first
+                int named = 0;
+                for (int i = 0; i < 4; i++) {
+                    int color = -1;
+                    for (int c = 0; c < 4; c++) {
+                        if ((named & (1 << c)) == 0 && (color < 0 || countColor(c) > countColor(color))) color = c;
+                    }
+                    named |= 1 << color;
+                    moves[base + numMoves++] = id * 4 + color;
+                }
+            }
+        }
+
+        for (int i = 1; i < numMoves; i++) {
+            if (moves[base + i] == firstMove) {
+                System.arraycopy(moves, base, moves, base + 1, i);
+                moves[base] = firstMove;
+                break;
+            }
+        }
+        return numMoves;
+    }
+
+    // The number of distinct cards of the color the current player holds, not counting wilds
+    private int countColor(int color) {
+        return Long.bitCount(cardMasks[current] & Card.getColorMask(Card.Colors.values()[color]) & ~Card.WILD_MASK);
+    }
+
+    /**
+     * Makes a move in place, remembering what it changed at the given ply.
+     *
+     * @return false if the move needed more cards than the draw pile has left
+     */
+    private boolean makeMove(int move, int ply) {
+        undoCurrent[ply] = current;
+        undoFlowDirection[ply] = flowDirection;
+        undoActiveColor[ply] = activeColor;
+        undoTopCard[ply] = topCard;
+        undoDrawn[ply] = drawn;
+        undoDrawingPlayer[ply] = -1;
+        undoKey[ply] = key;
+
+        int player = current;
+        if (move == DRAW) {
+            undoDrawingPlayer[ply] = player;
+            if (!drawCards(player, 1)) return false;
+            if (!drawKeepsTurn[player]) setCurrent(getNextPlayer());
+            return true;
+        }
+
+        int id = move >> 2;
+        removeCard(player, id);
+        key ^= TOP_CARD_KEYS[topCard] ^ TOP_CARD_KEYS[id] ^ COLOR_KEYS[activeColor] ^ COLOR_KEYS[move & 3];
+        topCard = id;
+        activeColor = move & 3;
+        if (handSizes[player] == 0) return true;
+
+        boolean complete = true;
+        switch (id % Card.NUM_CARD_NUMS) {
+            case 10 -> {
+                undoDrawingPlayer[ply] = getNextPlayer();
+                complete = drawCards(getNextPlayer(), 2);
+            }
+            case 11 -> {
+                flowDirection = -flowDirection;
+                key ^= REVERSED_KEY;
+            }
+            case 12 -> setCurrent(getNextPlayer());
+            case 14 -> {
+                undoDrawingPlayer[ply] = getNextPlayer();
+                complete = drawCards(getNextPlayer(), 4);
+            }
+        }
+        setCurrent(getNextPlayer());
+        return complete;
+    }
+
+    // Unmakes the move made at the given ply
+    private void unmakeMove(int move, int ply) {
+        int drawingPlayer = undoDrawingPlayer[ply];
+        for (int i = drawn - 1; i >= undoDrawn[ply]; i--) {
+            removeCard(drawingPlayer, drawOrder[i]);
+        }
+        if (move != DRAW) addCard(undoCurrent[ply], move >> 2);
+        current = undoCurrent[ply];
+        flowDirection = undoFlowDirection[ply];
+        activeColor = undoActiveColor[ply];
+        topCard = undoTopCard[ply];
+        drawn = undoDrawn[ply];
+        key = undoKey[ply];
+    }
+
+    // Deals cards off the draw pile, returning false if it ran out first
+    private boolean drawCards(int player, int count) {
+        for (int i = 0; i < count; i++) {
+            if (drawn == drawPileSize) return false;
+            addCard(player, drawOrder[drawn]);
+            key ^= DRAWN_KEYS[drawn] ^ DRAWN_KEYS[drawn + 1];
+            drawn++;
+        }
+        return true;
+    }
+
+    private int getNextPlayer() {
+        return (current + flowDirection + numPlayers) % numPlayers;
+    }
+
+    private void setCurrent(int player) {
+        key ^= TURN_KEYS[current] ^ TURN_KEYS[player];
+        current = player;
+    }
+
+    private void addCard(int player, int id) {
+        int index = player * Card.NUM_IDS + id;
+        key ^= handKeys[index * MAX_COPIES + cardCounts[index]++];
+        cardMasks[player] |= 1L << id;
+        handSizes[player]++;
+    }
+
+    private void removeCard(int player, int id) {
+        int index = player * Card.NUM_IDS + id;
+        key ^= handKeys[index * MAX_COPIES + --cardCounts[index]];
+        if (cardCounts[index] == 0) cardMasks[player] &= ~(1L << id);
+        handSizes[player]--;
+    }
+
+    /**
+     * Copies the table into the solver's position, and shuffles the copy of the draw pile
+     * with a seed taken from the position and the cards in the pile.
+     */
+    private void load(Game game) {
+        if (game.getNumPlayers() > TURN_KEYS.length) {
+            throw new Error("Something terrible has occurred. (The solver supports up to " + TURN_KEYS.length + " players)");
+        }
+        if (game.getNumPlayers() != numPlayers) {
+            numPlayers = game.getNumPlayers();
+            cardCounts = new int[numPlayers * Card.NUM_IDS];
+            cardMasks = new long[numPlayers];
+            handSizes = new int[numPlayers];
+            drawKeepsTurn = new boolean[numPlayers];
+            // The hand keys of a player are the same however many players there are
+            handKeys = new long[numPlayers * Card.NUM_IDS * MAX_COPIES];
+            for (int i = 0; i < handKeys.length; i++) handKeys[i] = Simulation.getGameSeed(~0x5EED_0F_E4D6A3EL, i);
+        }
+
+        Arrays.fill(cardCounts, 0);
+        key = 0;
+        for (int player = 0; player < numPlayers; player++) {
+            Hand hand = game.getPlayer(player).getHand();
+            cardMasks[player] = 0;
+            handSizes[player] = 0;
+            drawKeepsTurn[player] = game.getPlayer(player).isBot();
+            for (int i = 0; i < hand.numCardsInHand(); i++) {
+                int id = hand.getCardFromHand(i, false).getId();
+                if (cardCounts[player * Card.NUM_IDS + id] == MAX_COPIES) {
+                    throw new Error("Something terrible has occurred. (A hand holds more copies of a card than a deck has)");
+                }
+                addCard(player, id);
+            }
+        }
+        current = game.getCurrentPlayer();
+        root = current;
+        flowDirection = game.getFlowDirection();
+        activeColor = game.getActiveColor().ordinal();
+        topCard = game.getDiscardPile().getTopCard(false).getId();
+        drawn = 0;
+        key ^= TURN_KEYS[current] ^ ((flowDirection < 0) ? REVERSED_KEY : 0) ^ COLOR_KEYS[activeColor]
+                ^ TOP_CARD_KEYS[topCard] ^ DRAWN_KEYS[0];
+
+        // The pile is sorted first, so its order only depends on which cards are in it
+        Deck drawPile = game.getDrawPile();
+        drawPileSize = Math.min(drawPile.size(), drawOrder.length);
+        int[] counts = pileCounts;
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < drawPileSize; i++) counts[drawPile.getCardId(i)]++;
+        long seed = key;
+        int size = 0;
+        for (int id = 0; id < Card.NUM_IDS; id++) {
+            for (int i = 0; i < counts[id]; i++) {
+                drawOrder[size++] = (byte) id;
+                seed = seed * 31 + id;
+            }
+        }
+        for (int i = drawPileSize - 1; i > 0; i--) {
+            int j = (int) Long.remainderUnsigned(Simulation.getGameSeed(seed, i), i + 1);
+            byte card = drawOrder[i];
+            drawOrder[i] = drawOrder[j];
+            drawOrder[j] = card;
+        }
+        // Positions only share table entries with positions of searches of the same root
+        salt = Simulation.getGameSeed(seed, -1);
+    }
+
+    /**
+     * What a search found: the best move, or the move it was asked about, and whether it
+     * wins or loses by force.
+     */
+    public static final class Result {
+        private final int move;
+        private final int score;
+        private final int depth;
+        private final long nodes;
+        private final long tableHits;
+        private final long nanos;
+
+        private Result(int move, int score, int depth, long nodes, long tableHits, long nanos) {
+            this.move = move;
+            this.score = score;
+            this.depth = depth;
+            this.nodes = nodes;
+            this.tableHits = tableHits;
+            this.nanos = nanos;
+        }
+
+        /**
+         * Retrieves the id of the card to play.
+         *
+         * @return the card id, or -1 to draw a card
+         */
+        public int getCardId() {
+            return (move == DRAW) ? -1 : move >> 2;
+        }
+
+        /**
+         * Retrieves the color to name with the card.
+         *
+         * @return the color to name, or null if the move does not play a wild card
+         */
+        public Card.Colors getWildColor() {
+            return (move == DRAW || !Card.fromId(move >> 2).isWild()) ? null : Card.Colors.values()[move & 3];
+        }
+
+        /**
+         * Determines whether the move wins whatever the other players do, given the order
+         * the solver drew the draw pile in.
+         *
+         * @return true if the move was proven to win
+         */
+        public boolean isProvenWin() {
+            return isWin(score);
+        }
+
+        /**
+         * Determines whether the other players, working together, can stop the player from
+         * winning after this move.
+         *
+         * @return true if the move was proven to lose against the other players combined
+         */
+        public boolean isProvenLoss() {
+            return isLoss(score);
+        }
+
+        /**
+         * Retrieves the number of moves, counting every player's, until the game is won
+         * or lost, if it was proven either way.
+         *
+         * @return the number of moves to the end of the game, or -1 if nothing was proven
+         */
+        public int getMovesToEnd() {
+            return isWin(score) ? WIN - score : isLoss(score) ? WIN + score : -1;
+        }
+
+        /**
+         * Retrieves how many moves deep the search looked.
+         *
+         * @return the depth of the deepest search that finished
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        /**
+         * Retrieves the number of positions the search visited.
+         *
+         * @return the number of nodes searched
+         */
+        public long getNodes() {
+            return nodes;
+        }
+
+        /**
+         * Retrieves the number of positions whose score was taken from the transposition table.
+         *
+         * @return the number of table hits
+         */
+        public long getTableHits() {
+            return tableHits;
+        }
+
+        /**
+         * Retrieves how long the search took.
+         *
+         * @return the duration of the search, in nanoseconds
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Describes the move and what it leads to.
+         *
+         * @return a short description of the result
+         */
+        public String toString() {
+            String card = (move == DRAW) ? "draw" : Card.fromId(move >> 2).getProperName()
+                    + ((getWildColor() != null) ? " naming " + getWildColor() : "");
+            String outcome = isProvenWin() ? "wins in " + getMovesToEnd() : isProvenLoss() ? "loses in " + getMovesToEnd() : "unresolved";
+            return card + ", " + outcome + " (depth " + depth + ", " + nodes + " nodes)";
+        }
+    }
+}
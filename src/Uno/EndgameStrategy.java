@@ -0,0 +1,153 @@
+package Uno;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bot strategy that plays like another strategy until the end of the game is near,
+ * and then plays a forced win whenever the {@link EndgameSolver} can prove one.
+ * <p>
+ * Once the hands at the table hold no more than a given number of cards between them,
+ * every move with a choice is solved. If the solver proves a win, its card and its wild
+ * color are played; otherwise, because the budget ran out or the other players could
+ * stop every line if they played together, the other strategy chooses as usual. The
+ * solver sees every hand, so this bot cheats: it is meant for measuring how much better
+ * than the heuristics perfect play at the end of a game would be, not for playing people.
+ * <p>
+ * Each thread solves with its own solver, so one instance can serve many tables at once.
+ * With a node budget and no time limit to speak of, a bot plays the same moves on every
+ * run, so seeded games stay reproducible.
+ */
+public final class EndgameStrategy implements Strategy {
+    /**
+     * The default number of cards in all hands together at which the solver takes over.
+     */
+    public static final int DEFAULT_MAX_CARDS_IN_HANDS = 10;
+
+    /**
+     * The default number of positions a solver may visit for one move.
+     */
+    public static final long DEFAULT_MAX_NODES = 100_000;
+
+    private final Strategy fallback;
+    private final int maxCardsInHands;
+    private final ThreadLocal<Worker> workers;
+
+    // How often the solver was asked, and how often it proved a win
+    private final LongAdder solves = new LongAdder();
+    private final LongAdder provenWins = new LongAdder();
+
+    /**
+     * Creates an endgame strategy.
+     *
+     * @param fallback        the strategy that chooses every move the solver does not prove a win for
+     * @param maxCardsInHands the number of cards in all hands together at or below which the solver is asked
+     * @param maxNodes        the most positions the solver may visit for one move
+     * @param maxMillis       the most time the solver may take for one move, in milliseconds
+     */
+    public EndgameStrategy(Strategy fallback, int maxCardsInHands, long maxNodes, long maxMillis) {
+        this.fallback = fallback;
+        this.maxCardsInHands = maxCardsInHands;
+        workers = ThreadLocal.withInitial(() -> new Worker(new EndgameSolver(maxNodes, maxMillis)));
+    }
+
+    /**
+     * Creates an endgame strategy that plays like the default bot until the hands hold
+     * {@link #DEFAULT_MAX_CARDS_IN_HANDS} cards, with a budget of {@link #DEFAULT_MAX_NODES}.
+     */
+    public EndgameStrategy() {
+        this(HeuristicStrategy.DEFAULT, DEFAULT_MAX_CARDS_IN_HANDS, DEFAULT_MAX_NODES, 1_000);
+    }
+
+    /**
+     * Plays the solver's card if the end of the game is near and the solver proves it
+     * wins, and asks the other strategy otherwise. The solver is not asked when there is
+     * at most one legal move.
+     *
+     * @param game the table the hand is being played at
+     * @param hand the hand of the player whose turn it is
+     * @return the index of the card to play, or {@code hand.numCardsInHand()} to draw
+     */
+    @Override
+    public int chooseMove(Game game, Hand hand) {
+        Worker worker = workers.get();
+        worker.game = null;
+        long playable = hand.getPlayableCardIds();
+        if (Long.bitCount(playable) > 1 || (playable & Card.WILD_MASK) != 0) {
+            int cardsInHands = 0;
+            for (int i = 0; i < game.getNumPlayers(); i++) {
+                cardsInHands += game.getPlayer(i).getHand().numCardsInHand();
+            }
+            if (cardsInHands <= maxCardsInHands) {
+                EndgameSolver.Result result = worker.solver.solve(game);
+                solves.increment();
+                if (result.isProvenWin() && result.getCardId() >= 0) {
+                    provenWins.increment();
+                    worker.game = game;
+                    worker.hand = hand;
+                    worker.handSize = hand.numCardsInHand();
+                    worker.wildColor = result.getWildColor();
+                    return hand.indexOfCard(result.getCardId());
+                }
+            }
+        }
+        return fallback.chooseMove(game, hand);
+    }
+
+    /**
+     * Names the color the solver chose with the card it just proved a win for, and asks
+     * the other strategy otherwise.
+     *
+     * @param game the table the hand is being played at
+     * @param hand the hand of the player whose turn it is
+     * @return the color that the next player has to match
+     */
+    @Override
+    public Card.Colors chooseWildColor(Game game, Hand hand) {
+        Worker worker = workers.get();
+        if (worker.game == game && worker.hand == hand && worker.handSize == hand.numCardsInHand() && worker.wildColor != null) {
+            worker.game = null;
+            return worker.wildColor;
+        }
+        return fallback.chooseWildColor(game, hand);
+    }
+
+    /**
+     * Retrieves how many moves the solver was asked about so far.
+     *
+     * @return the number of solved moves
+     */
+    public long getSolves() {
+        return solves.sum();
+    }
+
+    /**
+     * Retrieves how many moves so far were played because the solver proved they win.
+     *
+     * @return the number of proven wins played
+     */
+    public long getProvenWins() {
+        return provenWins.sum();
+    }
+
+    /**
+     * Describes the strategy.
+     *
+     * @return the other strategy and the number of cards at which the solver takes over
+     */
+    public String toString() {
+        return "Endgame(" + fallback + ", " + maxCardsInHands + " cards)";
+    }
+
+    // The solver of one thread, and the move it last proved a win for
+    private static final class Worker {
+        private final EndgameSolver solver;
+        private Game game;
+        private Hand hand;
+        private int handSize;
+        private Card.Colors wildColor;
+
+        private Worker(EndgameSolver solver) {
+            this.solver = solver;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package Uno;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The Java Flight Recorder events the engine emits, so a recording shows what every
+ * table was doing next to the garbage collections, lock contention and thread activity
+ * the JVM records itself.
+ * <p>
+ * An event costs nothing while no recording is running: the JIT removes the event
+ * object and the checks around it altogether. While one is, every turn is timed, which
+ * a server waiting on its players does not notice, but which roughly doubles the cost of
+ * a headless simulation's turns. None of the events record a stack trace, and the bundled
+ * profile {@code uno.jfc} only keeps the slow ones, so a recording can stay on for a
+ * production server. It is started with
+ * {@code java -XX:StartFlightRecording:settings=src/Uno/uno.jfc,filename=uno.jfr Uno.Main ...}
+ * and summarized with {@code java Uno.Main --analyze uno.jfr}, see {@link FlightRecordingAnalyzer}.
+ * <p>
+ * Every event carries the id of its table, see {@link Game#getTableId()}, and its duration.
+ */
+public class FlightEvents {
+    private FlightEvents() {
+    }
+
+    /**
+     * A player's move being carried out, from the card leaving their hand, or being drawn,
+     * to play passing on. It does not include the time it took to choose the move.
+     */
+    @Name("Uno.Turn")
+    @Label("Turn")
+    @Category("Uno")
+    @Description("A player's move being carried out, without the time it took to choose it")
+    @StackTrace(false)
+    static class TurnEvent extends Event {
+        @Label("Table Id")
+        long tableId;
+
+        @Label("Player")
+        @Description("The seat of the player who moved")
+        int player;
+
+        @Label("Card Id")
+        @Description("The id of the card played, or -1 if the player drew a card")
+        int cardId;
+
+        @Label("Cards Left")
+        int cardsLeft;
+    }
+
+    /**
+     * A bot's strategy choosing its move.
+     */
+    @Name("Uno.BotDecision")
+    @Label("Bot Decision")
+    @Category("Uno")
+    @Description("A bot's strategy choosing its move")
+    @StackTrace(false)
+    static class BotDecisionEvent extends Event {
+        @Label("Table Id")
+        long tableId;
+
+        @Label("Player")
+        int player;
+
+        @Label("Strategy")
+        String strategy;
+
+        @Label("Hand Size")
+        int handSize;
+
+        @Label("Card Id")
+        @Description("The id of the card chosen, or -1 if the bot chose to draw")
+        int cardId;
+    }
+
+    /**
+     * A draw pile being filled with a fresh deck, or the discard pile being shuffled back
+     * into it. Taking a card off the pile is a single array read, so plain draws are not
+     * recorded; the operations that move and shuffle the whole pile are.
+     */
+    @Name("Uno.Deck")
+    @Label("Deck Operation")
+    @Category("Uno")
+    @Description("A draw pile being reset, or refilled from the discard pile")
+    @StackTrace(false)
+    static class DeckEvent extends Event {
+        static final String RESET = "reset";
+        static final String RESHUFFLE = "reshuffle";
+
+        @Label("Table Id")
+        long tableId;
+
+        @Label("Operation")
+        @Description("reset or reshuffle")
+        String operation;
+
+        @Label("Cards Moved")
+        @Description("The number of cards shuffled into the draw pile")
+        int cardsMoved;
+    }
+
+    /**
+     * A game ending, with how long the table was open.
+     */
+    @Name("Uno.GameEnd")
+    @Label("Game End")
+    @Category("Uno")
+    @Description("A game ending")
+    @StackTrace(false)
+    static class GameEndEvent extends Event {
+        @Label("Table Id")
+        long tableId;
+
+        @Label("Winner")
+        int winner;
+
+        @Label("Players")
+        int numPlayers;
+
+        @Label("Reshuffles")
+        int reshuffles;
+
+        @Label("Game Duration")
+        @Description("The time from the table being created to the game ending")
+        @Timespan(Timespan.NANOSECONDS)
+        long gameDuration;
+    }
+}
@@ -0,0 +1,158 @@
+package Uno;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Reads a flight recording made with the events of {@link FlightEvents} and summarizes
+ * where the turn time went: how long turns, bot decisions and deck operations took,
+ * broken down by strategy and operation, how long games lasted, and which of the
+ * slowest events overlapped a garbage collection pause.
+ * <p>
+ * Run it with {@code java Uno.Main --analyze <recording.jfr>}. A recording made with the
+ * bundled {@code uno.jfc} profile only holds the events over its thresholds, so the
+ * totals are those of the slow events rather than of every turn.
+ */
+public class FlightRecordingAnalyzer {
+    private static final int NUM_SLOWEST = 10;
+
+    // The durations of one kind of event
+    private static class Stats {
+        private final List<Long> nanos = new ArrayList<>();
+        private long total = 0;
+
+        void add(Duration duration) {
+            long value = duration.toNanos();
+            nanos.add(value);
+            total += value;
+        }
+
+        String format(String name) {
+            nanos.sort(null);
+            int count = nanos.size();
+            return String.format("  %-28s %8d %12.3f %10.1f %10.1f %10.1f%n", name, count, total / 1e6,
+                    (count == 0) ? 0 : total / 1e3 / count, percentile(99) / 1e3, (count == 0) ? 0 : nanos.get(count - 1) / 1e3);
+        }
+
+        private long percentile(double percentile) {
+            if (nanos.isEmpty()) return 0;
+            int index = (int) Math.ceil(nanos.size() * percentile / 100) - 1;
+            return nanos.get(Math.max(0, Math.min(nanos.size() - 1, index)));
+        }
+    }
+
+    // A slow event, kept to check it against garbage collection pauses
+    private record SlowEvent(String name, long tableId, Instant start, Instant end, Duration duration) {
+    }
+
+    // A garbage collection pause
+    private record Pause(Instant start, Instant end) {
+    }
+
+    private final Map<String, Stats> turns = new TreeMap<>();
+    private final Map<String, Stats> decisions = new TreeMap<>();
+    private final Map<String, Stats> deckOperations = new TreeMap<>();
+    private final Stats games = new Stats();
+    private long reshuffles = 0;
+    private final List<SlowEvent> slowEvents = new ArrayList<>();
+    private final List<Pause> pauses = new ArrayList<>();
+    private final Stats gcPauses = new Stats();
+    private Instant first = null;
+    private Instant last = null;
+
+    /**
+     * Reads a recording and summarizes it.
+     *
+     * @param recording the recording file to read
+     * @return the summary, as lines of text
+     * @throws IOException if the recording cannot be read
+     */
+    public static String analyze(Path recording) throws IOException {
+        FlightRecordingAnalyzer analyzer = new FlightRecordingAnalyzer();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                analyzer.add(file.readEvent());
+            }
+        }
+        return analyzer.summarize();
+    }
+
+    private void add(RecordedEvent event) {
+        if (first == null || event.getStartTime().isBefore(first)) first = event.getStartTime();
+        if (last == null || event.getEndTime().isAfter(last)) last = event.getEndTime();
+
+        switch (event.getEventType().getName()) {
+            case "Uno.Turn" -> {
+                String kind = (event.getInt("cardId") < 0) ? "draw" : (Card.fromId(event.getInt("cardId")).getCardNum() >= 10) ? "action card" : "number card";
+                addTo(turns, kind, event, "Turn");
+            }
+            case "Uno.BotDecision" -> addTo(decisions, event.getString("strategy"), event, "BotDecision");
+            case "Uno.Deck" -> {
+                addTo(deckOperations, event.getString("operation"), event, "Deck " + event.getString("operation"));
+                reshuffles += ("reshuffle".equals(event.getString("operation"))) ? 1 : 0;
+            }
+            case "Uno.GameEnd" -> games.add(Duration.ofNanos(event.getLong("gameDuration")));
+            case "jdk.GCPhasePause" -> {
+                pauses.add(new Pause(event.getStartTime(), event.getEndTime()));
+                gcPauses.add(event.getDuration());
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void addTo(Map<String, Stats> stats, String key, RecordedEvent event, String name) {
+        stats.computeIfAbsent(key, k -> new Stats()).add(event.getDuration());
+        slowEvents.add(new SlowEvent(name, event.getLong("tableId"), event.getStartTime(), event.getEndTime(), event.getDuration()));
+        if (slowEvents.size() > 4 * NUM_SLOWEST) {
+            // Only the slowest are reported, so there is no need to keep the rest
+            slowEvents.sort(Comparator.comparing(SlowEvent::duration).reversed());
+            slowEvents.subList(NUM_SLOWEST, slowEvents.size()).clear();
+        }
+    }
+
+    private String summarize() {
+        StringBuilder out = new StringBuilder();
+        Duration span = (first == null) ? Duration.ZERO : Duration.between(first, last);
+        out.append(String.format("Recording: %.1f s%n%n", span.toNanos() / 1e9));
+
+        String header = String.format("  %-28s %8s %12s %10s %10s %10s%n", "", "events", "total ms", "mean us", "p99 us", "max us");
+        out.append("Turns, without choosing the move").append(System.lineSeparator()).append(header);
+        turns.forEach((kind, stats) -> out.append(stats.format(kind)));
+        out.append("Bot decisions, by strategy").append(System.lineSeparator()).append(header);
+        decisions.forEach((strategy, stats) -> out.append(stats.format(strategy)));
+        out.append("Deck operations").append(System.lineSeparator()).append(header);
+        deckOperations.forEach((operation, stats) -> out.append(stats.format(operation)));
+        out.append("Garbage collection pauses").append(System.lineSeparator()).append(header);
+        out.append(gcPauses.format("pause"));
+
+        int numGames = games.nanos.size();
+        out.append(String.format("%nGames ended: %d, mean length %.1f us, %d reshuffles recorded%n",
+                numGames, (numGames == 0) ? 0 : games.total / 1e3 / numGames, reshuffles));
+
+        slowEvents.sort(Comparator.comparing(SlowEvent::duration).reversed());
+        out.append(String.format("%nSlowest events%n"));
+        for (int i = 0; i < Math.min(NUM_SLOWEST, slowEvents.size()); i++) {
+            SlowEvent event = slowEvents.get(i);
+            out.append(String.format("  %-20s table %-8d %10.1f us%s%n", event.name(), event.tableId(),
+                    event.duration().toNanos() / 1e3, overlapsPause(event) ? "  during a GC pause" : ""));
+        }
+        return out.toString();
+    }
+
+    private boolean overlapsPause(SlowEvent event) {
+        for (Pause pause : pauses) {
+            if (pause.start().isBefore(event.end()) && event.start().isBefore(pause.end())) return true;
+        }
+        return false;
+    }
+}
@@ -1,57 +1,104 @@
 package Uno;
 
-public class Game {
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Represents a single table of Uno: its draw and discard piles, its players,
+ * and whose turn it is.
+ * <p>
+ * Every table is an independent instance, so one JVM can host as many games
+ * as it likes. A game is not thread-safe; each instance is meant to be confined
+ * to the one thread that plays it, which keeps the turn logic free of locks.
+ */
+public final class Game {
+    /**
+     * The version of the snapshot format, written at the start of every snapshot.
+     */
+    private static final byte SNAPSHOT_VERSION = 1;
+
     /**
      * Represents the draw pile of the game, which serves as the primary deck of cards
      * used during gameplay. Players draw cards from this pile during their turns
      * or as part of game actions.
      * <p>
-     * The draw pile is initialized with a shuffled deck that does not include duplicates
-     * or other special configurations unless explicitly defined in game setup.
-     * <p>
-     * The draw pile is a shared resource for all players and plays a critical role in
-     * maintaining the flow of the game.
+     * The draw pile is a shared resource for all players at this table and plays a
+     * critical role in maintaining the flow of the game. It is shuffled lazily, so
+     * only the cards that are actually drawn pay for being shuffled. Every card that
+     * enters the game comes from this pile, so its random generator alone decides
+     * how a game between bots plays out.
      */
-    public static final Deck drawPile = new Deck(false);
+    private final Deck drawPile;
 
     /**
      * Represents the discard pile in the card game.
      * <p>
-     * This static field holds the deck of cards designated as the discard pile.
-     * The discard pile is initialized with an empty state, allowing cards to be
-     * added during gameplay as players play their turns.
-     * <p>
      * The discard pile serves as the central location for cards discarded by
      * players, with the topmost card on this pile determining certain game
      * rules or moves.
      */
-    public static final Deck discardPile = new Deck(true);
+    private final Deck discardPile = new Deck(false);
 
     /**
      * An array representing all the players in the game.
      * <p>
-     * This array holds instances of the `Player` class, which represent
-     * both human and computer-controlled players involved in the game.
      * The first player in the array is typically the human player, and
      * later entries represent computer-controlled players (bots).
-     * <p>
-     * The number of elements in this array is determined during game
-     * initialization and includes one human player alongside a configurable
-     * number of bots. The order of players in the array reflects the turn
-     * order during gameplay.
+     * The order of players in the array reflects the turn order during gameplay.
+     */
+    private final Player[] players;
+
+    /**
+     * The color that must be matched by the next card played. This is the color of
+     * the top card of the discard pile, or the color chosen by the player who played
+     * it if that card is wild.
+     */
+    private Card.Colors activeColor;
+
+    /**
+     * The mask of every card id that can be played next, kept up to date whenever the
+     * top card or the active color changes, so hands never have to look either up.
+     */
+    private long playableMask;
+
+    /**
+     * Counts how many times the draw pile ran out and was refilled from the discard pile.
      */
-    public static Player[] players;
+    private int reshuffleCount = 0;
+
+    private int currentPlayer = 0;
+
+    private int flowDirection = 1;
 
-    private static int currentPlayer = 0;
+    private boolean isGameOver = false;
 
-    private static int flowDirection = 1;
+    private int winningPlayer;
+
+    /**
+     * Records every event at this table, or null if the table is not being recorded.
+     */
+    private GameRecorder recorder = null;
+
+    /**
+     * The metrics this table reports to, or null if it does not report any.
+     */
+    private GameMetrics metrics = null;
 
-    private static boolean isGameOver = false;
+    // The turns and hand sizes not added to the metrics yet, and the number of bot
+    // decisions made, one in every GameMetrics.BOT_DECISION_SAMPLE_INTERVAL of which is timed
+    private int unreportedTurns;
+    private long unreportedHandSizeSum;
+    private int unreportedMaxHandSize;
+    private int botDecisions;
 
-    private static int winningPlayer;
+    // Every table gets the next id, which tells tables apart in flight recordings
+    private static final AtomicLong nextTableId = new AtomicLong();
+    private final long tableId = nextTableId.getAndIncrement();
+    private final long createdNanos = System.nanoTime();
 
     /**
-     * Initializes the game by setting up the draw pile, discard pile, and players.
+     * Creates a new table by setting up the draw pile, discard pile, and players.
      * The draw pile is reset, a starting card is placed on the discard pile, and
      * the players are created. At least one human player is assumed, with additional
      * computer-controlled players based on the specified number of bots.
@@ -59,28 +106,435 @@ public class Game {
      * @param numBots the number of computer-controlled players to include in the game
      * @param playerUsername a String representing the player's username
      */
-    public static void initGame(int numBots, String playerUsername) {
-        drawPile.resetDeck();
+    public Game(int numBots, String playerUsername) {
+        this(RandomGenerator.getDefault(), numBots, playerUsername);
+    }
+
+    /**
+     * Creates a new table with one human player and the given number of bots, where
+     * every shuffle is drawn from the given random generator. Replaying the answers
+     * a human gave at a table against an equally seeded one plays exactly the same game.
+     *
+     * @param random the random generator the draw pile shuffles with
+     * @param numBots the number of computer-controlled players to include in the game
+     * @param playerUsername a String representing the player's username
+     */
+    public Game(RandomGenerator random, int numBots, String playerUsername) {
+        this(random, numBots, playerUsername, HeuristicStrategy.DEFAULT);
+    }
 
-        discardPile.addCardToPile(drawPile.getTopCard(true));
-        discardPile.prepDiscardPile();
+    /**
+     * Creates a new table with one human player and the given number of bots, which all
+     * play with the given strategy, such as weights tuned by a {@link WeightOptimizer}.
+     *
+     * @param random the random generator the draw pile shuffles with
+     * @param numBots the number of computer-controlled players to include in the game
+     * @param playerUsername a String representing the player's username
+     * @param botStrategy the strategy every bot plays with
+     */
+    public Game(RandomGenerator random, int numBots, String playerUsername, Strategy botStrategy) {
+        drawPile = createDrawPile(random);
+        preparePiles();
 
         players = new Player[numBots + 1];
-        // players[0] = new Player(Utility.Console.askForUsername());
-        players[0] = new Player(playerUsername);
+        players[0] = new Player(this, playerUsername);
         for (int i = 1; i <= numBots; i++) {
-            players[i] = new Player("Bot " + i, true);
+            players[i] = new Player(this, "Bot " + i, botStrategy);
         }
     }
 
+    /**
+     * Creates a new table where every seat is taken by a computer-controlled player.
+     * This is used for headless simulations, where no human is involved and
+     * nothing is read from or written to the console.
+     *
+     * @param numBots the number of computer-controlled players, all of which are bots
+     */
+    public Game(int numBots) {
+        this(RandomGenerator.getDefault(), numBots);
+    }
+
+    /**
+     * Creates a new table where every seat is taken by a computer-controlled player,
+     * and every shuffle is drawn from the given random generator. Two tables created
+     * with equally seeded generators play exactly the same game, whichever thread
+     * plays them.
+     *
+     * @param random  the random generator the draw pile shuffles with
+     * @param numBots the number of computer-controlled players, all of which are bots
+     */
+    public Game(RandomGenerator random, int numBots) {
+        drawPile = createDrawPile(random);
+        preparePiles();
+
+        players = new Player[numBots];
+        for (int i = 0; i < numBots; i++) {
+            players[i] = new Player(this, "Bot " + (i + 1), true);
+        }
+    }
+
+    /**
+     * Creates a new table where every seat is taken by a computer-controlled player,
+     * each playing with its own strategy. Seats are filled in the order of the strategies.
+     *
+     * @param strategies the strategy of every seat, one per player
+     */
+    public Game(Strategy... strategies) {
+        this(RandomGenerator.getDefault(), strategies);
+    }
+
+    /**
+     * Creates a new table where every seat is taken by a computer-controlled player,
+     * each playing with its own strategy, and every shuffle is drawn from the given
+     * random generator. Two tables created with equally seeded generators and
+     * deterministic strategies play exactly the same game.
+     *
+     * @param random     the random generator the draw pile shuffles with
+     * @param strategies the strategy of every seat, one per player
+     */
+    public Game(RandomGenerator random, Strategy... strategies) {
+        drawPile = createDrawPile(random);
+        preparePiles();
+
+        players = new Player[strategies.length];
+        for (int i = 0; i < strategies.length; i++) {
+            players[i] = new Player(this, "Bot " + (i + 1), strategies[i]);
+        }
+    }
+
+    // Restores a table from a snapshot, see restoreSnapshot
+    private Game(ByteBuffer buffer, Strategy[] strategies) {
+        if (buffer.get() != SNAPSHOT_VERSION) {
+            throw new Error("Something terrible has occurred. (The snapshot has an unknown format)");
+        }
+        drawPile = new Deck(false, RandomGenerator.getDefault(), true);
+        players = new Player[buffer.get()];
+        currentPlayer = buffer.get();
+        flowDirection = buffer.get();
+        activeColor = Card.Colors.values()[buffer.get()];
+        isGameOver = buffer.get() != 0;
+        winningPlayer = buffer.get();
+        reshuffleCount = buffer.getInt();
+        drawPile.readSnapshot(buffer);
+        discardPile.readSnapshot(buffer);
+        playableMask = Card.getPlayableMask(discardPile.getTopCard(false), activeColor);
+        for (int i = 0; i < players.length; i++) {
+            Strategy strategy = (i < strategies.length && strategies[i] != null) ? strategies[i] : HeuristicStrategy.DEFAULT;
+            players[i] = Player.restoreSnapshot(this, buffer, strategy);
+        }
+    }
+
+    // Creates a freshly reset draw pile, reporting the reset to flight recordings
+    private Deck createDrawPile(RandomGenerator random) {
+        FlightEvents.DeckEvent event = new FlightEvents.DeckEvent();
+        event.begin();
+        Deck deck = new Deck(true, random, true);
+        if (event.shouldCommit()) {
+            event.tableId = tableId;
+            event.operation = FlightEvents.DeckEvent.RESET;
+            event.cardsMoved = deck.size();
+            event.commit();
+        }
+        return deck;
+    }
+
+    // Shared by all constructors: turn over the starting card, which may not be wild.
+    // Any wild turned over stays buried under the starting card.
+    private void preparePiles() {
+        do {
+            discardPile.addCardToPile(drawPile.getTopCard(true));
+        } while (discardPile.getTopCard(false).isWild());
+        activeColor = discardPile.getTopCard(false).getCardColor();
+        playableMask = Card.getPlayableMask(discardPile.getTopCard(false), activeColor);
+    }
+
+    /**
+     * Retrieves the draw pile of this table.
+     *
+     * @return the deck players draw from
+     */
+    public Deck getDrawPile() {
+        return drawPile;
+    }
+
+    /**
+     * Retrieves the discard pile of this table.
+     *
+     * @return the deck played cards are placed on
+     */
+    public Deck getDiscardPile() {
+        return discardPile;
+    }
+
+    /**
+     * Retrieves the player sitting in the given seat.
+     *
+     * @param index the seat index, where 0 is the first player
+     * @return the player in that seat
+     */
+    public Player getPlayer(int index) {
+        return players[index];
+    }
+
+    /**
+     * Retrieves the number of players seated at this table.
+     *
+     * @return the number of players
+     */
+    public int getNumPlayers() {
+        return players.length;
+    }
+
+    /**
+     * Retrieves the id of this table, which is unique within the JVM and tells tables
+     * apart in flight recordings, see {@link FlightEvents}.
+     *
+     * @return the id of the table
+     */
+    public long getTableId() {
+        return tableId;
+    }
+
+    /**
+     * Starts recording this table into the given recorder, beginning with the current
+     * state of the table. Pass null to stop recording.
+     *
+     * @param recorder the recorder to write every event to, or null to disable recording
+     */
+    public void setRecorder(GameRecorder recorder) {
+        this.recorder = recorder;
+        if (recorder != null) recorder.start(this);
+    }
+
+    /**
+     * Retrieves the recorder this table is being recorded into.
+     *
+     * @return the recorder, or null if the table is not being recorded
+     */
+    public GameRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Makes this table report what happens at it to the given metrics from now on.
+     * Pass null to stop reporting. The turns counted so far go to the metrics the table
+     * reported to until now, also when the game is left unfinished.
+     *
+     * @param metrics the metrics to report to, which may be shared with other tables, or null
+     */
+    public void setMetrics(GameMetrics metrics) {
+        flushMetrics();
+        this.metrics = metrics;
+    }
+
+    /**
+     * Retrieves the metrics this table reports to.
+     *
+     * @return the metrics, or null if the table does not report any
+     */
+    public GameMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Counts a finished turn for the metrics, if the table reports to any. The table
+     * keeps the count itself and adds it to the metrics when the game ends, so a turn
+     * never touches the counters other tables share. The winning turn finishes after the
+     * game has ended, and is added right away.
+     *
+     * @param handSize the number of cards the player who moved holds afterwards
+     */
+    void recordTurn(int handSize) {
+        if (metrics == null) return;
+        unreportedTurns++;
+        unreportedHandSizeSum += handSize;
+        unreportedMaxHandSize = Math.max(unreportedMaxHandSize, handSize);
+        if (isGameOver) flushMetrics();
+    }
+
+    /**
+     * Decides whether the bot decision about to be made is timed for the metrics.
+     *
+     * @return true for one in every {@link GameMetrics#BOT_DECISION_SAMPLE_INTERVAL} decisions,
+     *         starting with the first, if the table reports to metrics
+     */
+    boolean shouldTimeBotDecision() {
+        return metrics != null && (botDecisions++ & (GameMetrics.BOT_DECISION_SAMPLE_INTERVAL - 1)) == 0;
+    }
+
+    // Adds the turns counted at this table to its metrics
+    private void flushMetrics() {
+        if (metrics == null || unreportedTurns == 0) return;
+        metrics.recordTurns(unreportedTurns, unreportedHandSizeSum, unreportedMaxHandSize);
+        unreportedTurns = 0;
+        unreportedHandSizeSum = 0;
+        unreportedMaxHandSize = 0;
+    }
+
+    /**
+     * Writes the full state of this table into a buffer: both piles in order, every
+     * player with their hand and latest action, whose turn it is, the flow direction
+     * and the active color. The buffer can be reused for any number of tables; this
+     * table's snapshot is written at its position and takes {@link #getSnapshotSize()} bytes.
+     * Strategies, the recorder and the random generator are not part of the snapshot.
+     *
+     * @param buffer the buffer to write the snapshot to
+     */
+    public void writeSnapshot(ByteBuffer buffer) {
+        buffer.put(SNAPSHOT_VERSION);
+        buffer.put((byte) players.length);
+        buffer.put((byte) currentPlayer);
+        buffer.put((byte) flowDirection);
+        buffer.put((byte) activeColor.ordinal());
+        buffer.put((byte) (isGameOver ? 1 : 0));
+        buffer.put((byte) winningPlayer);
+        buffer.putInt(reshuffleCount);
+        drawPile.writeSnapshot(buffer);
+        discardPile.writeSnapshot(buffer);
+        for (Player player : players) {
+            player.writeSnapshot(buffer);
+        }
+    }
+
+    /**
+     * Retrieves the exact number of bytes {@link #writeSnapshot(ByteBuffer)} writes for this table.
+     *
+     * @return the size of the table's snapshot
+     */
+    public int getSnapshotSize() {
+        int size = 11 + drawPile.getSnapshotSize() + discardPile.getSnapshotSize();
+        for (Player player : players) {
+            size += player.getSnapshotSize();
+        }
+        return size;
+    }
+
+    /**
+     * Creates a table from a snapshot written by {@link #writeSnapshot(ByteBuffer)}, reading
+     * it from the buffer's position, with the given strategies for its bots. Seats that
+     * were human stay human whatever strategy is given for them.
+     *
+     * @param buffer     the buffer to read the snapshot from
+     * @param strategies the strategy of every seat, in seat order. Bots without one, because
+     *                   the entry is null or missing, play with the default {@link HeuristicStrategy}.
+     * @return the restored table
+     * @throws Error if the buffer does not hold a snapshot
+     */
+    public static Game restoreSnapshot(ByteBuffer buffer, Strategy... strategies) {
+        return new Game(buffer, strategies);
+    }
+
+    /**
+     * Draws the top card of the draw pile. If the draw pile is empty, every card of
+     * the discard pile except the top one is shuffled back into it first.
+     *
+     * @return the drawn card, or null in the rare case that every card is in a player's hand
+     */
+    public Card drawCard() {
+        if (drawPile.isEmpty()) {
+            FlightEvents.DeckEvent event = new FlightEvents.DeckEvent();
+            event.begin();
+            int moved = drawPile.refillFrom(discardPile);
+            if (moved == 0) return null;
+            reshuffleCount++;
+            if (recorder != null) recorder.record(GameRecorder.RESHUFFLE, 0, moved);
+            if (metrics != null) metrics.recordReshuffle();
+            if (event.shouldCommit()) {
+                event.tableId = tableId;
+                event.operation = FlightEvents.DeckEvent.RESHUFFLE;
+                event.cardsMoved = moved;
+                event.commit();
+            }
+        }
+        return drawPile.getTopCard(true);
+    }
+
+    /**
+     * Draws the given number of cards into a hand, reshuffling the discard pile if needed.
+     * Fewer cards are dealt only if there are none left to draw at all.
+     *
+     * @param hand  the hand to add the cards to
+     * @param count the number of cards to draw
+     * @return the number of cards dealt, which is less than the count only if every other card is in a hand
+     */
+    public int dealCards(Hand hand, int count) {
+        for (int i = 0; i < count; i++) {
+            Card card = drawCard();
+            if (card == null) return i;
+            hand.addCard(card);
+            if (recorder != null) recorder.record(GameRecorder.DEAL, getSeat(hand), card.getId());
+        }
+        return count;
+    }
+
+    // Finds the seat holding the given hand, only needed while recording
+    private int getSeat(Hand hand) {
+        for (int i = 0; i < players.length; i++) {
+            if (players[i].getHand() == hand) return i;
+        }
+        throw new Error("Something terrible has occurred. (A card was dealt to a hand that is not at this table)");
+    }
+
+    /**
+     * Retrieves the number of times the draw pile ran out and the discard pile was
+     * shuffled back into it during this game.
+     *
+     * @return the number of reshuffles
+     */
+    public int getReshuffleCount() {
+        return reshuffleCount;
+    }
+
+    /**
+     * Places a played card on top of the discard pile and updates the active color.
+     * For a wild card the active color becomes the chosen color; for any other card
+     * it becomes the card's own color.
+     *
+     * @param card      the card being played
+     * @param handIndex the position the card was played from in the current player's hand,
+     *                  which a recording needs to remove the same copy when a hand holds two
+     * @param wildColor the color chosen for a wild card, ignored for regular cards.
+     *                  If null, a wild card keeps its printed color.
+     */
+    public void discard(Card card, int handIndex, Card.Colors wildColor) {
+        discardPile.addCardToPile(card);
+        activeColor = (card.isWild() && wildColor != null) ? wildColor : card.getCardColor();
+        playableMask = Card.getPlayableMask(card, activeColor);
+        if (recorder != null) {
+            recorder.record(GameRecorder.PLAY, currentPlayer, card.getId(), handIndex);
+            if (card.isWild()) recorder.record(GameRecorder.WILD_COLOR, currentPlayer, activeColor.ordinal());
+        }
+    }
+
+    /**
+     * Retrieves the color that must be matched by the next card played.
+     * This is the color of the top card of the discard pile, or the chosen color if that card is wild.
+     *
+     * @return the active color
+     */
+    public Card.Colors getActiveColor() {
+        return activeColor;
+    }
+
+    /**
+     * Retrieves a bitmask of every card id that can be played on the top card of the
+     * discard pile with the active color, see {@link Card#getPlayableMask(Card, Card.Colors)}.
+     *
+     * @return the mask of all card ids that can be played next
+     */
+    public long getPlayableMask() {
+        return playableMask;
+    }
+
     /**
      * Reverses the current flow direction of the game.
      * The flow direction determines the order in which players take turns. A value of 1 represents
      * clockwise flow, while a value of -1 represents counterclockwise flow. This method toggles
      * the flow direction between these two states.
      */
-    public static void flipFlowDirection() {
+    public void flipFlowDirection() {
         flowDirection = (flowDirection == 1) ? -1 : 1;
+        if (recorder != null) recorder.record(GameRecorder.REVERSE, 0);
     }
 
     /**
@@ -90,11 +544,11 @@ public class Game {
      *
      * @param fourCards a boolean value indicating whether to add four cards (true) or two cards (false)
      */
-    public static void addCardsToNextPlayer(boolean fourCards) {
-        Hand nextPlayersHand = players[getNextPlayer()].getHand();
-        for (int i = 0; i < ((fourCards) ? 4 : 2); i++) {
-            nextPlayersHand.addCard(Game.drawPile.getTopCard(true));
-        }
+    public void addCardsToNextPlayer(boolean fourCards) {
+        int nextPlayer = getNextPlayer();
+        if (recorder != null) recorder.record((fourCards) ? GameRecorder.DRAW_FOUR : GameRecorder.DRAW_TWO, nextPlayer);
+        if (metrics != null) metrics.recordDrawCards(fourCards);
+        dealCards(players[nextPlayer].getHand(), (fourCards) ? 4 : 2);
     }
 
     /**
@@ -102,10 +556,19 @@ public class Game {
      *
      * @return the index of the current player as an integer.
      */
-    public static int getCurrentPlayer() {
+    public int getCurrentPlayer() {
         return currentPlayer;
     }
 
+    /**
+     * Retrieves the direction in which turns currently pass around the table.
+     *
+     * @return 1 if play moves to higher seat indices, -1 if it moves to lower ones
+     */
+    public int getFlowDirection() {
+        return flowDirection;
+    }
+
     /**
      * Advances turn to the next player in the game.
      * <p>
@@ -114,8 +577,9 @@ public class Game {
      * is calculated using the private `getNextPlayer` method, which ensures the
      * appropriate player index is determined, wrapping around if necessary.
      */
-    public static void advancePlayer() {
+    public void advancePlayer() {
         currentPlayer = getNextPlayer();
+        if (recorder != null) recorder.record(GameRecorder.ADVANCE, 0);
     }
 
     /**
@@ -126,7 +590,7 @@ public class Game {
      *
      * @return the index of the next player as an integer.
      */
-    private static int getNextPlayer() {
+    private int getNextPlayer() {
         int player = currentPlayer + flowDirection + players.length; // advance the player pointer and will guarantee it is not less than 0
         return (player % players.length); // make it stay within the upper bounds
     }
@@ -140,9 +604,10 @@ public class Game {
      * The resulting player index is calculated using modular arithmetic to guarantee
      * it remains within the range of valid player indices.
      */
-    public static void skipPlayer() {
+    public void skipPlayer() {
         currentPlayer += (flowDirection) + (players.length); // advance the player pointer twice and guarantee it is not less than 0
         currentPlayer %= players.length; // make it stay within the upper bounds
+        if (recorder != null) recorder.record(GameRecorder.SKIP, 0);
     }
 
     /**
@@ -151,7 +616,7 @@ public class Game {
      *
      * @return true if it is the human player's turn; false otherwise.
      */
-    public static boolean isPlayerTurn() {
+    public boolean isPlayerTurn() {
         return (currentPlayer == 0);
     }
 
@@ -164,9 +629,24 @@ public class Game {
      * them as the winner. This ensures that the game status and winner information
      * are accurately recorded for later retrieval or display.
      */
-    public static void endGame() {
+    public void endGame() {
         isGameOver = true;
         winningPlayer = currentPlayer;
+        if (recorder != null) recorder.record(GameRecorder.GAME_OVER, winningPlayer);
+        if (metrics != null) {
+            flushMetrics();
+            metrics.recordGameCompleted();
+        }
+
+        FlightEvents.GameEndEvent event = new FlightEvents.GameEndEvent();
+        if (event.shouldCommit()) {
+            event.tableId = tableId;
+            event.winner = winningPlayer;
+            event.numPlayers = players.length;
+            event.reshuffles = reshuffleCount;
+            event.gameDuration = System.nanoTime() - createdNanos;
+            event.commit();
+        }
     }
 
     /**
@@ -174,7 +654,7 @@ public class Game {
      *
      * @return the index of the winning player as an integer if the game is over; otherwise, an undefined or default value.
      */
-    public static int getWinningPlayer() {
+    public int getWinningPlayer() {
         return winningPlayer;
     }
 
@@ -183,7 +663,7 @@ public class Game {
      *
      * @return true if the game is over; false otherwise.
      */
-    public static boolean isGameOver() {
+    public boolean isGameOver() {
         return isGameOver;
     }
 
@@ -200,7 +680,7 @@ public class Game {
      * The information is formatted, separated by dividing lines, and displayed using
      * a utility method for rendering a text-based user interface box.
      */
-    public static void printBotSummary() {
+    public void printBotSummary() {
         StringBuilder text = new StringBuilder();
         for (int i = 1; i < players.length; i++) {
             if (i != 1) text.append("-".repeat(Utility.Console.getBoxWidth() + 2)).append(";");
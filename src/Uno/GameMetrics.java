@@ -0,0 +1,214 @@
+package Uno;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Collects what happens at the tables that report to it: turns, games, reshuffles,
+ * hand sizes, Draw Two and Draw Four cards, and how long bot decisions and human
+ * turns take. Once registered with {@link #register(String)} the metrics can be
+ * watched live over JMX.
+ * <p>
+ * A table only reports to metrics set with {@link Game#setMetrics(GameMetrics)}, and a
+ * table without metrics pays a single null check per event. The same metrics can be
+ * shared by any number of tables on any number of threads: every counter is a
+ * {@link LongAdder} and every duration goes into a {@link LatencyHistogram}, so
+ * reporting never takes a lock.
+ * <p>
+ * Turns happen far more often than anything else, so a table keeps its own count of
+ * turns and hand sizes in plain fields and adds them to the metrics once, when the game
+ * ends or the table stops reporting. Reading the clock costs more than a bot's whole
+ * decision, so a table only times one in every {@link #BOT_DECISION_SAMPLE_INTERVAL}
+ * bot decisions, which still gives the histogram thousands of samples a second.
+ */
+public class GameMetrics implements GameMetricsMXBean {
+    /**
+     * A table times one bot decision in this many, a power of two.
+     */
+    static final int BOT_DECISION_SAMPLE_INTERVAL = 16;
+
+    private final LongAdder gamesCompleted = new LongAdder();
+    private final LongAdder turns = new LongAdder();
+    private final LongAdder reshuffles = new LongAdder();
+    private final LongAdder drawTwos = new LongAdder();
+    private final LongAdder drawFours = new LongAdder();
+    private final LongAdder handSizeSum = new LongAdder();
+    private final LongAccumulator maxHandSize = new LongAccumulator(Math::max, 0);
+    private final LatencyHistogram botDecisions = new LatencyHistogram();
+    private final LatencyHistogram humanTurns = new LatencyHistogram();
+    private volatile long startNanos = System.nanoTime();
+
+    /**
+     * Registers these metrics with the platform MBean server under
+     * {@code Uno:type=GameMetrics,name=<name>}, where JMX clients can find them.
+     *
+     * @param name the name to tell these metrics apart from others, such as "server"
+     * @return the name the metrics were registered under
+     * @throws JMException if the name is invalid or already taken
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = getObjectName(name);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Creates the name metrics with the given name are registered under.
+     *
+     * @param name the name of the metrics
+     * @return the JMX name of the metrics
+     * @throws JMException if the name cannot be part of a JMX name
+     */
+    public static ObjectName getObjectName(String name) throws JMException {
+        return new ObjectName("Uno:type=GameMetrics,name=" + ObjectName.quote(name));
+    }
+
+    // Called by the tables that report to these metrics
+
+    void recordTurns(int numTurns, long sumOfHandSizes, int largestHandSize) {
+        turns.add(numTurns);
+        handSizeSum.add(sumOfHandSizes);
+        maxHandSize.accumulate(largestHandSize);
+    }
+
+    void recordGameCompleted() {
+        gamesCompleted.increment();
+    }
+
+    void recordReshuffle() {
+        reshuffles.increment();
+    }
+
+    void recordDrawCards(boolean fourCards) {
+        if (fourCards) {
+            drawFours.increment();
+        } else {
+            drawTwos.increment();
+        }
+    }
+
+    void recordBotDecision(long nanos) {
+        botDecisions.record(nanos);
+    }
+
+    void recordHumanTurn(long nanos) {
+        humanTurns.record(nanos);
+    }
+
+    @Override
+    public long getGamesCompleted() {
+        return gamesCompleted.sum();
+    }
+
+    @Override
+    public long getTurns() {
+        return turns.sum();
+    }
+
+    @Override
+    public double getTurnsPerSecond() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return (seconds <= 0) ? 0 : turns.sum() / seconds;
+    }
+
+    @Override
+    public long getBotDecisions() {
+        return botDecisions.getCount();
+    }
+
+    @Override
+    public double getBotDecisionMeanNanos() {
+        return botDecisions.getMean();
+    }
+
+    @Override
+    public long getBotDecisionP50Nanos() {
+        return botDecisions.getPercentile(50);
+    }
+
+    @Override
+    public long getBotDecisionP99Nanos() {
+        return botDecisions.getPercentile(99);
+    }
+
+    @Override
+    public long getBotDecisionP999Nanos() {
+        return botDecisions.getPercentile(99.9);
+    }
+
+    @Override
+    public long getBotDecisionMaxNanos() {
+        return botDecisions.getMax();
+    }
+
+    @Override
+    public long getHumanTurns() {
+        return humanTurns.getCount();
+    }
+
+    @Override
+    public double getHumanTurnP50Millis() {
+        return humanTurns.getPercentile(50) / 1e6;
+    }
+
+    @Override
+    public double getHumanTurnP99Millis() {
+        return humanTurns.getPercentile(99) / 1e6;
+    }
+
+    @Override
+    public double getHumanTurnMaxMillis() {
+        return humanTurns.getMax() / 1e6;
+    }
+
+    @Override
+    public long getReshuffles() {
+        return reshuffles.sum();
+    }
+
+    @Override
+    public double getReshufflesPerGame() {
+        long games = gamesCompleted.sum();
+        return (games == 0) ? 0 : (double) reshuffles.sum() / games;
+    }
+
+    @Override
+    public double getMeanHandSize() {
+        long numTurns = turns.sum();
+        return (numTurns == 0) ? 0 : (double) handSizeSum.sum() / numTurns;
+    }
+
+    @Override
+    public long getMaxHandSize() {
+        return maxHandSize.get();
+    }
+
+    @Override
+    public double getDrawTwoFrequency() {
+        long numTurns = turns.sum();
+        return (numTurns == 0) ? 0 : (double) drawTwos.sum() / numTurns;
+    }
+
+    @Override
+    public double getDrawFourFrequency() {
+        long numTurns = turns.sum();
+        return (numTurns == 0) ? 0 : (double) drawFours.sum() / numTurns;
+    }
+
+    @Override
+    public void reset() {
+        gamesCompleted.reset();
+        turns.reset();
+        reshuffles.reset();
+        drawTwos.reset();
+        drawFours.reset();
+        handSizeSum.reset();
+        maxHandSize.reset();
+        botDecisions.reset();
+        humanTurns.reset();
+        startNanos = System.nanoTime();
+    }
+}
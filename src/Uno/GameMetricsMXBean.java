@@ -0,0 +1,109 @@
+package Uno;
+
+/**
+ * The management interface of {@link GameMetrics}, which is how the metrics appear in
+ * JMX clients such as JConsole or VisualVM. Every attribute is a read-only number
+ * covering every table that reported to the metrics since they were created or last reset.
+ */
+public interface GameMetricsMXBean {
+    /**
+     * @return the number of games played to the end
+     */
+    long getGamesCompleted();
+
+    /**
+     * @return the number of turns taken, counting every move a player makes: every card played and every draw,
+     *         including a bot's draw after which it moves again. A table adds its turns when its game ends.
+     */
+    long getTurns();
+
+    /**
+     * @return the number of turns taken per second since the metrics were created or reset
+     */
+    double getTurnsPerSecond();
+
+    /**
+     * @return the number of bot decisions timed, which is one in every 16 a table makes
+     */
+    long getBotDecisions();
+
+    /**
+     * @return the mean time a bot took to choose a move, in nanoseconds
+     */
+    double getBotDecisionMeanNanos();
+
+    /**
+     * @return the median time a bot took to choose a move, in nanoseconds, to within a factor of two
+     */
+    long getBotDecisionP50Nanos();
+
+    /**
+     * @return the 99th percentile of the time a bot took to choose a move, in nanoseconds, to within a factor of two
+     */
+    long getBotDecisionP99Nanos();
+
+    /**
+     * @return the 99.9th percentile of the time a bot took to choose a move, in nanoseconds, to within a factor of two
+     */
+    long getBotDecisionP999Nanos();
+
+    /**
+     * @return the longest time a bot took to choose a move among the decisions timed, in nanoseconds
+     */
+    long getBotDecisionMaxNanos();
+
+    /**
+     * @return the number of human turns timed
+     */
+    long getHumanTurns();
+
+    /**
+     * @return the median duration of a human turn, from being shown the table to finishing the move, in milliseconds
+     */
+    double getHumanTurnP50Millis();
+
+    /**
+     * @return the 99th percentile of the duration of a human turn, in milliseconds
+     */
+    double getHumanTurnP99Millis();
+
+    /**
+     * @return the longest human turn, in milliseconds
+     */
+    double getHumanTurnMaxMillis();
+
+    /**
+     * @return the number of times the discard pile was shuffled back into the draw pile
+     */
+    long getReshuffles();
+
+    /**
+     * @return the mean number of reshuffles per completed game
+     */
+    double getReshufflesPerGame();
+
+    /**
+     * @return the mean number of cards a player holds at the end of their turn
+     */
+    double getMeanHandSize();
+
+    /**
+     * @return the most cards a player has held at the end of their turn
+     */
+    long getMaxHandSize();
+
+    /**
+     * @return the fraction of turns in which a Draw Two was played
+     */
+    double getDrawTwoFrequency();
+
+    /**
+     * @return the fraction of turns in which a Wild Draw Four was played
+     */
+    double getDrawFourFrequency();
+
+    /**
+     * Clears every metric and restarts the clock for the turn rate.
+     */
+    void reset();
+}
@@ -0,0 +1,168 @@
+package Uno;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Records everything that happens at a table as a compact binary event log,
+ * which {@link Replay} can turn back into the state of the game at any point.
+ * <p>
+ * A log starts with the state of the table at the moment the recorder was attached
+ * with {@link Game#setRecorder(GameRecorder)}: the number of seats, whose turn it is,
+ * the flow direction, the active color, the discard pile and every hand. After that,
+ * every event is a variable-length integer holding its type and the seat it concerns,
+ * followed by at most two more variable-length integers, such as the id of a card.
+ * Card ids, hand positions, seats and colors are nearly always below 128, so most events
+ * take one to three bytes.
+ * <p>
+ * Every card that leaves the draw pile is recorded, so a replay needs no random
+ * generator and never has to replay a single decision; it only applies the log.
+ * A recorder belongs to the table it records and is not thread-safe.
+ */
+public class GameRecorder {
+    /**
+     * The version of the log format, written at the start of every log.
+     */
+    public static final int FORMAT_VERSION = 2;
+
+    /** A card went from the draw pile into a seat's hand. Followed by the card id. */
+    public static final int DEAL = 0;
+    /** A seat played a card onto the discard pile. Followed by the card id and the card's position in the hand. */
+    public static final int PLAY = 1;
+    /** A seat named the color of the wild card it played. Followed by the color's ordinal. */
+    public static final int WILD_COLOR = 2;
+    /** A Draw Two made a seat draw two cards, which follow as {@link #DEAL} events. */
+    public static final int DRAW_TWO = 3;
+    /** A Wild Draw 4 made a seat draw four cards, which follow as {@link #DEAL} events. */
+    public static final int DRAW_FOUR = 4;
+    /** The flow direction was reversed. */
+    public static final int REVERSE = 5;
+    /** The next seat was skipped. */
+    public static final int SKIP = 6;
+    /** The turn passed on to the next seat. */
+    public static final int ADVANCE = 7;
+    /** The discard pile was shuffled back into the draw pile. Followed by the number of cards moved. */
+    public static final int RESHUFFLE = 8;
+    /** A seat emptied its hand and won the game. */
+    public static final int GAME_OVER = 9;
+
+    // The event type takes the low bits of an event's first integer, the seat the rest
+    static final int TYPE_BITS = 4;
+
+    private byte[] bytes = new byte[256];
+    private int size = 0;
+    private int numEvents = 0;
+
+    /**
+     * Writes the state of the table the recorder is being attached to.
+     * Called by {@link Game#setRecorder(GameRecorder)}.
+     *
+     * @param game the table being recorded
+     */
+    void start(Game game) {
+        writeVarInt(FORMAT_VERSION);
+        writeVarInt(game.getNumPlayers());
+        writeVarInt(game.getCurrentPlayer());
+        writeVarInt((game.getFlowDirection() == 1) ? 0 : 1);
+        writeVarInt(game.getActiveColor().ordinal());
+
+        Deck discardPile = game.getDiscardPile();
+        writeVarInt(discardPile.size());
+        for (int i = 0; i < discardPile.size(); i++) {
+            writeVarInt(discardPile.getCardId(i));
+        }
+        for (int seat = 0; seat < game.getNumPlayers(); seat++) {
+            Hand hand = game.getPlayer(seat).getHand();
+            writeVarInt(hand.numCardsInHand());
+            for (int i = 0; i < hand.numCardsInHand(); i++) {
+                writeVarInt(hand.getCardFromHand(i, false).getId());
+            }
+        }
+    }
+
+    /**
+     * Records an event that carries no value.
+     *
+     * @param type the type of the event
+     * @param seat the seat the event concerns, or 0 if it concerns the whole table
+     */
+    void record(int type, int seat) {
+        writeVarInt((seat << TYPE_BITS) | type);
+        numEvents++;
+    }
+
+    /**
+     * Records an event followed by a value, such as a card id.
+     *
+     * @param type  the type of the event
+     * @param seat  the seat the event concerns, or 0 if it concerns the whole table
+     * @param value the value of the event
+     */
+    void record(int type, int seat, int value) {
+        record(type, seat);
+        writeVarInt(value);
+    }
+
+    /**
+     * Records an event followed by two values, such as a card id and its position in a hand.
+     *
+     * @param type   the type of the event
+     * @param seat   the seat the event concerns, or 0 if it concerns the whole table
+     * @param value  the first value of the event
+     * @param second the second value of the event
+     */
+    void record(int type, int seat, int value, int second) {
+        record(type, seat, value);
+        writeVarInt(second);
+    }
+
+    /**
+     * Retrieves the number of events recorded so far, not counting the starting state.
+     *
+     * @return the number of events
+     */
+    public int getNumEvents() {
+        return numEvents;
+    }
+
+    /**
+     * Retrieves the length of the log so far.
+     *
+     * @return the number of bytes recorded
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copies the log recorded so far.
+     *
+     * @return the bytes of the log
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    /**
+     * Writes the log recorded so far to a stream.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written to
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, size);
+    }
+
+    // Writes seven bits per byte, lowest first, with the top bit set on every byte but the last
+    private void writeVarInt(int value) {
+        if (size + 5 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        }
+        while ((value & ~0x7F) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+}
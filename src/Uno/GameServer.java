@@ -0,0 +1,324 @@
+package Uno;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+/**
+ * Serves games over TCP, so one JVM can host a table for every connected player.
+ * <p>
+ * Every connection gets its own virtual thread and its own {@link Game}, with the
+ * connected player in seat 0 and bots in the other seats. The thread simply blocks
+ * while it waits for the player, which costs a virtual thread almost nothing, so tens
+ * of thousands of connections can be open at once. Bots play with {@link Player#makeBotMove()}
+ * and the player's moves go through {@link Player#action(int, Card.Colors)}, so a networked
+ * game follows exactly the same rules as one at the console.
+ * <p>
+ * The protocol is line-based ASCII. Cards are sent as card ids ({@code color * 15 + number},
+ * see {@link Card#getId()}) and colors as their first letter: R, Y, G or B.
+ * <pre>
+ * client: JOIN &lt;username&gt;                starts a game, also after the previous one ended
+ * server: START &lt;number of players&gt;
+ * server: TURN &lt;top card&gt; &lt;active color&gt; &lt;card&gt;...   the player's hand, in order
+ * client: PLAY &lt;index&gt; [color]             plays a card, or draws if the index is the hand size
+ * server: UNO?                             the player has one card left
+ * client: SAY &lt;text&gt;                       anything without "uno" costs a card
+ * server: BOT &lt;seat&gt; PLAY &lt;card&gt; &lt;active color&gt; &lt;cards left&gt;
+ * server: BOT &lt;seat&gt; DRAW &lt;cards left&gt;
+ * server: WIN &lt;seat&gt;
+ * server: ERR &lt;message&gt;                    the last line was rejected, send another
+ * client: QUIT
+ * </pre>
+ * Output is buffered and only flushed when the server waits for the player, so a
+ * round of bot moves reaches the client in a single packet.
+ */
+public class GameServer implements AutoCloseable {
+    /**
+     * The port the server listens on unless told otherwise.
+     */
+    public static final int DEFAULT_PORT = 7777;
+
+    /**
+     * How long a connection may stay silent while the server waits for it, in milliseconds.
+     */
+    private static final int READ_TIMEOUT_MILLIS = 5 * 60 * 1000;
+
+    /**
+     * How many connections may queue up before the server accepts them.
+     */
+    private static final int ACCEPT_BACKLOG = 4096;
+
+    private static final char[] COLOR_LETTERS = {'R', 'Y', 'G', 'B'};
+
+    private final ServerSocket serverSocket;
+    private final int numBots;
+    private final Strategy botStrategy;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final LongAdder openConnections = new LongAdder();
+    private final LongAdder gamesCompleted = new LongAdder();
+    private final GameMetrics metrics = new GameMetrics();
+
+    /**
+     * Opens a server on the given port. Nothing is served until {@link #serve()} is called.
+     *
+     * @param port    the port to listen on, or 0 for any free port
+     * @param numBots the number of bots seated with every player
+     * @throws IOException if the port cannot be opened
+     */
+    public GameServer(int port, int numBots) throws IOException {
+        this(port, numBots, HeuristicStrategy.DEFAULT);
+    }
+
+    /**
+     * Opens a server on the given port whose bots all play with the given strategy.
+     * Nothing is served until {@link #serve()} is called.
+     *
+     * @param port        the port to listen on, or 0 for any free port
+     * @param numBots     the number of bots seated with every player
+     * @param botStrategy the strategy every bot plays with
+     * @throws IOException if the port cannot be opened
+     */
+    public GameServer(int port, int numBots, Strategy botStrategy) throws IOException {
+        this.numBots = numBots;
+        this.botStrategy = botStrategy;
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(port), ACCEPT_BACKLOG);
+    }
+
+    /**
+     * Accepts connections until the server is closed, starting a virtual thread for each.
+     */
+    public void serve() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                executor.execute(() -> handle(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("Could not accept a connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the port the server is listening on.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Retrieves the number of connections that are currently open.
+     *
+     * @return the number of open connections
+     */
+    public long getOpenConnections() {
+        return openConnections.sum();
+    }
+
+    /**
+     * Retrieves the number of games played to the end since the server started.
+     *
+     * @return the number of completed games
+     */
+    public long getGamesCompleted() {
+        return gamesCompleted.sum();
+    }
+
+    /**
+     * Retrieves the metrics every table of this server reports to, which can be
+     * registered with {@link GameMetrics#register(String)} to watch them over JMX.
+     *
+     * @return the metrics of the server's tables
+     */
+    public GameMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Stops accepting connections and interrupts every game in progress.
+     *
+     * @throws IOException if the server socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+
+    // Runs on the connection's own virtual thread
+    private void handle(Socket socket) {
+        openConnections.increment();
+        try (socket) {
+            socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+            serveConnection(in, out);
+        } catch (EOFException | SocketException e) {
+            // The player went away, which ends their game
+        } catch (IOException e) {
+            System.err.println("Connection failed: " + e.getMessage());
+        } finally {
+            openConnections.decrement();
+        }
+    }
+
+    /**
+     * Plays games with one player until they quit or disconnect.
+     *
+     * @param in  the lines sent by the player
+     * @param out where to send the lines for the player
+     * @throws IOException if the connection fails
+     */
+    public void serveConnection(BufferedReader in, Writer out) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.equals("QUIT")) return;
+            if (!line.startsWith("JOIN ")) {
+                send(out, "ERR expected JOIN <username>");
+                out.flush();
+                continue;
+            }
+            playGame(line.substring(5), in, out);
+            gamesCompleted.increment();
+        }
+    }
+
+    // Plays a single game with the player in seat 0
+    private void playGame(String username, BufferedReader in, Writer out) throws IOException {
+        Game game = new Game(RandomGenerator.getDefault(), numBots, username, botStrategy);
+        game.setMetrics(metrics);
+        send(out, "START " + game.getNumPlayers());
+
+        try {
+            while (!game.isGameOver()) {
+                if (game.isPlayerTurn()) {
+                    long start = System.nanoTime();
+                    playerTurn(game, in, out);
+                    metrics.recordHumanTurn(System.nanoTime() - start);
+                } else {
+                    int seat = game.getCurrentPlayer();
+                    Player bot = game.getPlayer(seat);
+                    bot.makeBotMove();
+                    int numCards = bot.getHand().numCardsInHand();
+                    if (bot.lastActionWasDraw()) {
+                        send(out, "BOT " + seat + " DRAW " + numCards);
+                    } else {
+                        send(out, "BOT " + seat + " PLAY " + game.getDiscardPile().getTopCard(false).getId() + " "
+                                + COLOR_LETTERS[game.getActiveColor().ordinal()] + " " + numCards);
+                    }
+                }
+            }
+        } finally {
+            // Reports the turns of a game the player left before it ended
+            game.setMetrics(null);
+        }
+        send(out, "WIN " + game.getWinningPlayer());
+        out.flush();
+    }
+
+    // The networked version of Player.queryUserAction, with the same rules
+    private void playerTurn(Game game, BufferedReader in, Writer out) throws IOException {
+        Player player = game.getPlayer(0);
+        Hand hand = player.getHand();
+
+        StringBuilder turn = new StringBuilder("TURN ");
+        turn.append(game.getDiscardPile().getTopCard(false).getId()).append(' ');
+        turn.append(COLOR_LETTERS[game.getActiveColor().ordinal()]);
+        for (int i = 0; i < hand.numCardsInHand(); i++) {
+            turn.append(' ').append(hand.getCardFromHand(i, false).getId());
+        }
+        send(out, turn);
+
+        while (true) {
+            String line = readLine(in, out);
+            String[] parts = line.split(" ");
+            int index;
+            try {
+                if (!parts[0].equals("PLAY") || parts.length < 2) throw new NumberFormatException();
+                index = Integer.parseInt(parts[1]);
+            } catch (NumberFormatException e) {
+                send(out, "ERR expected PLAY <index> [color]");
+                continue;
+            }
+
+            int numCards = hand.numCardsInHand();
+            if (index == numCards) {
+                if (hand.hasPlayableCard()) {
+                    send(out, "ERR you can only draw when no card is playable");
+                    continue;
+                }
+                player.action(index, null);
+                return;
+            }
+            if (index < 0 || index >= numCards || !hand.isPlayable(index)) {
+                send(out, "ERR that card cannot be played");
+                continue;
+            }
+
+            Card.Colors wildColor = null;
+            if (hand.getCardFromHand(index, false).isWild()) {
+                wildColor = (parts.length > 2) ? parseColor(parts[2]) : null;
+                if (wildColor == null) {
+                    send(out, "ERR a wild card needs a color: R, Y, G or B");
+                    continue;
+                }
+            }
+            player.action(index, wildColor);
+            break;
+        }
+
+        if (hand.numCardsInHand() == 1) {
+            send(out, "UNO?");
+            String line = readLine(in, out);
+            while (!line.startsWith("SAY ")) {
+                send(out, "ERR expected SAY <text>");
+                line = readLine(in, out);
+            }
+            if (!line.substring(4).toLowerCase().contains("uno")) {
+                // The penalty card is not a turn: the card was already played and the turn has moved on
+                game.dealCards(hand, 1);
+            }
+        }
+    }
+
+    // Flushes everything waiting for the player, then waits for their next line
+    private static String readLine(BufferedReader in, Writer out) throws IOException {
+        out.flush();
+        String line = in.readLine();
+        if (line == null) throw new EOFException();
+        return line;
+    }
+
+    private static void send(Writer out, CharSequence line) throws IOException {
+        out.append(line).append('\n');
+    }
+
+    // Reads a color given by its first letter, or null if it is not one
+    private static Card.Colors parseColor(String text) {
+        if (text.isEmpty()) return null;
+        for (int i = 0; i < COLOR_LETTERS.length; i++) {
+            if (Character.toUpperCase(text.charAt(0)) == COLOR_LETTERS[i]) return Card.Colors.values()[i];
+        }
+        return null;
+    }
+}
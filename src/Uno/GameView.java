@@ -0,0 +1,35 @@
+package Uno;
+
+/**
+ * Shows an interactive game to the human at the console.
+ * <p>
+ * The game never writes to the console itself; it tells the current view what
+ * happened, and the view decides how that looks. {@link BoxView} prints a new box
+ * for everything, like the game always has, while {@link ScreenView} keeps one
+ * fixed screen and only redraws what changed. The view in use is set with
+ * {@link Utility.Console#setView(GameView)}.
+ */
+public interface GameView {
+    /**
+     * Shows the table to a human player whose turn it is, just before they are asked for their move.
+     *
+     * @param game   the table being played at
+     * @param player the human player whose turn it is
+     */
+    void showTurn(Game game, Player player);
+
+    /**
+     * Shows the move a bot just made.
+     *
+     * @param game the table being played at
+     * @param bot  the bot that just moved
+     */
+    void showBotMove(Game game, Player bot);
+
+    /**
+     * Shows a message or question to the human player.
+     *
+     * @param text the message, as semicolon-separated lines which may contain ANSI color codes
+     */
+    void showMessage(String text);
+}
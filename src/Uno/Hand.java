@@ -1,49 +1,78 @@
 package Uno;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
  * The Hand class represents a collection of cards a player holds in a card game.
  * It includes methods for managing the hand, such as adding or removing cards,
  * determining playable cards, and calculating hand-specific statistics.
+ * <p>
+ * Besides the cards in the order they were received, the hand keeps an index that
+ * is updated whenever a card is added or removed: how many of each card it holds,
+ * how many of each color and number, how many wilds, and a bitmask of the card ids
+ * present. Asking whether anything is playable or which color is most common is
+ * therefore a constant-time lookup, however large the hand grows.
+ * <p>
+ * The hand also keeps the ids of its cards position by position in a primitive array,
+ * so a strategy can score every card of the hand without going through the list, see
+ * {@link HeuristicStrategy#chooseMove(Game, Hand)}.
  */
-public class Hand {
-    private final List<Card> hand = new ArrayList<>();
+public final class Hand {
+    private final List<Card> hand = new ArrayList<>(16);
+    private final List<Card> handView = Collections.unmodifiableList(hand);
+    private final Game game;
+
+    // The index, kept in sync by addCard and getCardFromHand
+    private final int[] cardCounts = new int[Card.NUM_IDS];
+    private final int[] colorCounts = new int[Card.Colors.values().length]; // Wild cards are not counted here
+    private final int[] cardNumCounts = new int[Card.NUM_CARD_NUMS];
+    private int wildCount = 0;
+    private long cardMask = 0; // Bit i is set if the hand holds at least one card with id i
+
+    /**
+     * The length of the id array is a multiple of this, so a vector of up to this many
+     * ints can be loaded from any multiple of its length below the number of cards.
+     */
+    static final int ID_BLOCK = 16;
+
+    // The id of the card at every position, in the order of the list, kept in sync with it.
+    // Room for 32 cards, so the array almost never grows during a game.
+    private int[] cardIds = new int[2 * ID_BLOCK];
 
     /**
      * Constructs a new Hand object and initializes it with a default set of cards.
      * This constructor populates the hand with seven cards drawn from the game's draw pile.
-     * Each card is drawn from the top of the draw pile using the `getTopCard` method,
-     * which optionally removes the card from the deck after retrieval.
+     * Each card is drawn from the top of the draw pile using the game's `dealCards` method.
+     *
+     * @param game the table this hand is dealt from and played against
      */
-    public Hand() {
-        for (int i = 0; i < 7; i++) {
-            hand.add(Game.drawPile.getTopCard(true));
-        }
+    public Hand(Game game) {
+        this(game, 7);
     }
 
     /**
      * Constructs a new Hand object with a specified number of starting cards.
      * This constructor populates the hand by drawing the specified number of
      * cards from the game's draw pile. Each card is drawn from the top of the draw
-     * pile using the `getTopCard` method, which optionally removes the card from
-     * the deck after retrieval.
+     * pile using the game's `dealCards` method, which reshuffles the discard pile if needed.
      *
+     * @param game the table this hand is dealt from and played against
      * @param numStartingCards the number of cards to draw from the draw pile to initialize the hand
      */
-    public Hand(int numStartingCards) {
-        for (int i = 0; i < numStartingCards; i++) {
-            hand.add(Game.drawPile.getTopCard(true));
-        }
+    public Hand(Game game, int numStartingCards) {
+        this.game = game;
+        game.dealCards(this, numStartingCards);
     }
 
     /**
      * Retrieves the list of cards currently in the hand.
+     * The list is read-only; cards are added and removed through the hand so its index stays correct.
      *
-     * @return a list containing the cards in the hand.
+     * @return a read-only list containing the cards in the hand.
      */
     public List<Card> getHand() {
-        return hand;
+        return handView;
     }
 
     /**
@@ -70,6 +99,8 @@ public class Hand {
             Card card = hand.get(index);
             if (removeAfterGet) {
                 hand.remove(index);
+                updateIndex(card, -1);
+                System.arraycopy(cardIds, index + 1, cardIds, index, hand.size() - index);
             }
             return card;
         } else {
@@ -81,25 +112,18 @@ public class Hand {
     /**
      * Determines the color most frequently used by the cards in the hand.
      * Wild cards (cards with a number greater than or equal to 13) are ignored when counting.
+     * Ties go to the color that comes first in {@link Card.Colors}, and a hand without
+     * any colored cards returns RED.
      *
      * @return the color that is used by the highest number of cards in the hand
      */
     public Card.Colors getColorThatTheMostCardsUse() {
-        // Yay!!!! EnumMap!!!!!!
-        Map<Card.Colors, Integer> count = new EnumMap<>(Card.Colors.class);
-
-        for (Card card : hand) {
-            Card.Colors c = card.getCardColor();
-            if (card.getCardNum() >= 13) continue; // If it's wild, don't count it as whatever it is
-            count.put(c, count.getOrDefault(c, 0) + 1);
-        }
-
-        // THIS MAKES TOTAL SENSE!!!!
-        if (count.isEmpty()) {
-            return Card.Colors.RED;
-        } else {
-            return Collections.max(count.entrySet(), Map.Entry.comparingByValue()).getKey();
+        Card.Colors[] colors = Card.Colors.values();
+        int best = 0;
+        for (int i = 1; i < colorCounts.length; i++) {
+            if (colorCounts[i] > colorCounts[best]) best = i;
         }
+        return colors[best];
     }
 
     /**
@@ -109,6 +133,160 @@ public class Hand {
      */
     public void addCard(Card newCard) {
         hand.addLast(newCard);
+        updateIndex(newCard, 1);
+        addId(newCard);
+    }
+
+    /**
+     * Writes the cards of this hand, in order, into a snapshot.
+     *
+     * @param buffer the buffer to write to
+     */
+    void writeSnapshot(ByteBuffer buffer) {
+        buffer.put((byte) hand.size());
+        for (Card card : hand) {
+            buffer.put((byte) card.getId());
+        }
+    }
+
+    /**
+     * Adds the cards written by {@link #writeSnapshot(ByteBuffer)} to this hand,
+     * which is expected to be empty.
+     *
+     * @param buffer the buffer to read from
+     */
+    void readSnapshot(ByteBuffer buffer) {
+        int numCards = buffer.get() & 0xFF;
+        for (int i = 0; i < numCards; i++) {
+            addCard(Card.fromId(buffer.get()));
+        }
+    }
+
+    // Adds (delta = 1) or removes (delta = -1) a card from the index
+    private void updateIndex(Card card, int delta) {
+        int id = card.getId();
+        cardCounts[id] += delta;
+        cardNumCounts[card.getCardNum()] += delta;
+        if (card.isWild()) wildCount += delta;
+        else colorCounts[card.getCardColor().ordinal()] += delta;
+        // Set the bit if there is at least one of this card left, clear it otherwise
+        if (cardCounts[id] > 0) cardMask |= 1L << id;
+        else cardMask &= ~(1L << id);
+    }
+
+    // Appends the id of a card that was just added to the end of the list
+    private void addId(Card card) {
+        int position = hand.size() - 1;
+        if (position == cardIds.length) {
+            cardIds = Arrays.copyOf(cardIds, cardIds.length + Math.max(ID_BLOCK, cardIds.length));
+        }
+        cardIds[position] = card.getId();
+    }
+
+    /**
+     * Retrieves the id of the card at every position. Only the first {@link #numCardsInHand()}
+     * entries belong to the hand, the rest are ids too but mean nothing, and the array must
+     * not be changed.
+     *
+     * @return the card ids, by position in the hand
+     */
+    int[] getCardIds() {
+        return cardIds;
+    }
+
+    /**
+     * Finds the first card in the hand with the given id, which is how strategies that
+     * think in card ids turn their choice back into a move.
+     *
+     * @param cardId the id of the card to find
+     * @return the index of the card, or {@link #numCardsInHand()} if the hand does not hold it
+     */
+    public int indexOfCard(int cardId) {
+        if ((cardMask & (1L << cardId)) == 0) return hand.size();
+        for (int i = 0; i < hand.size(); i++) {
+            if (hand.get(i).getId() == cardId) return i;
+        }
+        return hand.size();
+    }
+
+    /**
+     * Retrieves how many copies of the given card the hand holds.
+     *
+     * @param card the card to count
+     * @return the number of copies in the hand
+     */
+    public int getCardCount(Card card) {
+        return cardCounts[card.getId()];
+    }
+
+    /**
+     * Retrieves how many cards of the given color the hand holds, not counting wild cards.
+     *
+     * @param color the color to count
+     * @return the number of cards of that color
+     */
+    public int getColorCount(Card.Colors color) {
+        return colorCounts[color.ordinal()];
+    }
+
+    /**
+     * Retrieves how many cards with the given card number the hand holds.
+     *
+     * @param cardNumber the card number to count, from 0 to 14
+     * @return the number of cards with that number
+     */
+    public int getCardNumCount(int cardNumber) {
+        return cardNumCounts[cardNumber];
+    }
+
+    /**
+     * Retrieves how many wild cards the hand holds.
+     *
+     * @return the number of wild cards
+     */
+    public int getWildCount() {
+        return wildCount;
+    }
+
+    /**
+     * Retrieves a bitmask of the card ids in the hand, with bit i set if the hand
+     * holds at least one card with id i.
+     *
+     * @return the mask of card ids present in the hand
+     */
+    public long getCardMask() {
+        return cardMask;
+    }
+
+    /**
+     * Retrieves a bitmask of the card ids in the hand that can be played on the
+     * current top card of the discard pile.
+     *
+     * @return the mask of playable card ids present in the hand
+     */
+    public long getPlayableCardIds() {
+        return cardMask & game.getPlayableMask();
+    }
+
+    /**
+     * Determines whether the card at the given position in the hand can be played on
+     * the current top card of the discard pile.
+     *
+     * @param index the position of the card in the hand
+     * @return true if the card can be played; otherwise, false
+     */
+    public boolean isPlayable(int index) {
+        return (game.getPlayableMask() & (1L << hand.get(index).getId())) != 0;
+    }
+
+    /**
+     * Determines whether any card in the hand can be played on the current top card
+     * of the discard pile.
+     *
+     * @return true if at least one card is playable; otherwise, false
+     */
+    public boolean hasPlayableCard() {
+        return getPlayableCardIds() != 0;
     }
 
     /**
@@ -122,14 +300,37 @@ public class Hand {
      */
     public List<Integer> getPlayableCards() {
         List<Integer> playableCards = new ArrayList<>();
+        long playable = getPlayableCardIds();
+        if (playable == 0) return playableCards;
         for (int i = 0; i < hand.size(); i++) {
-            if (hand.get(i).canPlayCard(Game.discardPile.getTopCard(false))) {
+            if ((playable & (1L << hand.get(i).getId())) != 0) {
                 playableCards.add(i);
             }
         }
         return playableCards;
     }
 
+    /**
+     * Writes the indices of the cards in the hand that can be played on the current
+     * top card of the discard pile into a buffer owned by the caller, in hand order.
+     * Unlike {@link #getPlayableCards()}, this does not allocate anything.
+     *
+     * @param moves the buffer to write the indices into, which must be at least
+     *              {@link #numCardsInHand()} long
+     * @return the number of playable cards written to the buffer
+     */
+    public int getPlayableCards(int[] moves) {
+        long playable = getPlayableCardIds();
+        if (playable == 0) return 0;
+        int numMoves = 0;
+        for (int i = 0; i < hand.size(); i++) {
+            if ((playable & (1L << hand.get(i).getId())) != 0) {
+                moves[numMoves++] = i;
+            }
+        }
+        return numMoves;
+    }
+
     /**
      * Returns a string representation of the current hand, indicating the playable cards
      * with their respective indices and marking unplayable cards accordingly. If no cards
@@ -140,14 +341,14 @@ public class Hand {
      */
     public String toString() {
         StringBuilder out = new StringBuilder();
-        List<Integer> playableCards = getPlayableCards();
+        long playable = getPlayableCardIds();
         int i = 0;
         for (Card card : hand) {
-            if (playableCards.contains(i)) out.append(i + 1).append(") ").append(Utility.Console.Colors.RESET).append(card).append(";");
+            if ((playable & (1L << card.getId())) != 0) out.append(i + 1).append(") ").append(Utility.Console.Colors.RESET).append(card).append(";");
             else out.append("-) ").append(card).append(";");
             i++;
         }
-        if (playableCards.isEmpty()) {
+        if (playable == 0) {
             out.append(i+1).append(") Take Card from Draw Pile");
         }
         return String.valueOf(out);
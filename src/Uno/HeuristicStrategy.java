@@ -0,0 +1,418 @@
+package Uno;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * The default bot strategy: a greedy one-ply scorer that plays the playable card
+ * with the highest score, and names the color it holds the most cards of, or, with a
+ * wild color weight, the color that also holds the most action cards.
+ * <p>
+ * Like every bot, it only draws when it holds no playable card. The scores only rank the
+ * playable cards against each other, so the best of them is played even if it scores 0
+ * or less, which tuned weights such as negative wild weights easily lead to.
+ * <p>
+ * A card scores a base value, plus a bonus for being an action card or a number card,
+ * plus a bonus or penalty for being wild, plus bonuses for matching the active color
+ * and the number of the card on top of the discard pile. The weights can be changed,
+ * so differently tuned bots are all instances of this one class. Weights are saved to
+ * and loaded from a properties file, see {@link #save(Path, String)} and {@link #load(Path)}.
+ * <p>
+ * A card's score only depends on the card, the number of the top card and the active
+ * color, so every strategy scores every card against every top card number and color
+ * once, when it is created, with {@link #getScores(int, int, int[], int)}. Choosing a
+ * move then looks the score of each playable card up in the row of the current top card
+ * number and color, going through the ids the {@link Hand} keeps by position, without
+ * branching on what kind of card it is.
+ * <p>
+ * The Vector API can instead score a whole vector of the hand's cards at a time. It is
+ * optional: the class that uses it lives in the {@code src-vector} source root, which is
+ * compiled on its own with {@code --add-modules jdk.incubator.vector} or by Maven's
+ * {@code vector} profile, and it is only used if it was compiled, the JVM runs with the
+ * same option and the CPU's vectors fit the hand's id array, see {@link #VECTOR_API}.
+ * Both ways choose exactly the same card, and the cards that can be played come from
+ * {@link Hand#getPlayableCardIds()} either way.
+ * <p>
+ * The class is final and {@link Player} checks for it before calling through the
+ * {@link Strategy} interface, so the default bot is called directly and can be inlined
+ * even when many other strategies are playing in the same JVM.
+ */
+public final class HeuristicStrategy implements Strategy {
+    // The features of every card id, one array per feature, which is what getScores reads.
+    // They come before DEFAULT, whose constructor already reads them.
+    private static final int[] CARD_NUMS = new int[Card.NUM_IDS];
+    private static final int[] COLORS = new int[Card.NUM_IDS];
+    private static final int[] IS_ACTION = new int[Card.NUM_IDS];
+    private static final int[] IS_WILD = new int[Card.NUM_IDS];
+
+    static {
+        for (int id = 0; id < Card.NUM_IDS; id++) {
+            Card card = Card.fromId(id);
+            CARD_NUMS[id] = card.getCardNum();
+            COLORS[id] = card.getCardColor().ordinal();
+            IS_ACTION[id] = (card.getCardNum() > 9) ? 1 : 0;
+            IS_WILD[id] = card.isWild() ? 1 : 0;
+        }
+    }
+
+    /**
+     * Scores a whole hand at once, with the weights folded into what a card scores: a
+     * number card that is not wild scores {@code numberScore}, an action card
+     * {@code actionBonus} more and a wild card {@code wildBonus} more on top. Only the
+     * Vector API implements it, see {@code src-vector/Uno/HeuristicVectorScorer.java}.
+     */
+    interface HandScorer {
+        /**
+         * Chooses the playable card with the highest score at any score, the first one of them on a tie.
+         *
+         * @param hand               the hand of the player whose turn it is
+         * @param playable           the ids of the cards that can be played, see {@link Hand#getPlayableCardIds()}
+         * @param topCardNum         the number of the card on top of the discard pile
+         * @param activeColor        the ordinal of the color currently in play
+         * @param numberScore        what a number card that is not wild scores
+         * @param actionBonus        what an action card scores on top
+         * @param wildBonus          what a wild card scores on top of that
+         * @param colorMatchWeight   added if the card has the active color
+         * @param cardNumMatchWeight added if the card has the same number as the top card
+         * @return the index of the best card, or {@code hand.numCardsInHand()} if nothing is playable
+         */
+        int chooseMove(Hand hand, long playable, int topCardNum, int activeColor, int numberScore,
+                       int actionBonus, int wildBonus, int colorMatchWeight, int cardNumMatchWeight);
+    }
+
+    /**
+     * The Vector API scorer, or null if it cannot be used in this JVM.
+     */
+    private static final HandScorer VECTOR_SCORER = loadVectorScorer();
+
+    /**
+     * Whether hands are scored with the Vector API, decided once when the class is loaded.
+     */
+    static final boolean VECTOR_API = VECTOR_SCORER != null;
+
+    /**
+     * The strategy with the hand-picked weights bots have always used, shared by every default bot.
+     */
+    public static final HeuristicStrategy DEFAULT = new HeuristicStrategy(5, 20, 10, -10, 5, 8, 6);
+
+    /**
+     * The names of the weights in a weights file, in the order of the constructor's parameters.
+     */
+    public static final String[] WEIGHT_NAMES = {"baseWeight", "actionWeight", "numberWeight", "wildWeight",
+            "nonWildWeight", "colorMatchWeight", "cardNumMatchWeight", "wildColorActionWeight"};
+
+    private final int baseWeight;
+    private final int actionWeight;
+    private final int numberWeight;
+    private final int wildWeight;
+    private final int nonWildWeight;
+    private final int colorMatchWeight;
+    private final int cardNumMatchWeight;
+    private final int wildColorActionWeight;
+
+    // The weights folded into what a card scores, for the Vector API, see HandScorer
+    private final int numberScore;
+    private final int actionBonus;
+    private final int wildBonus;
+
+    /**
+     * The score of every card id against every top card number and active color, one row
+     * of {@code Card.NUM_IDS} scores for each, indexed by
+     * {@code (activeColor * Card.NUM_CARD_NUMS + topCardNum) * Card.NUM_IDS + id}.
+     */
+    private final int[] scoreTable = new int[4 * Card.NUM_CARD_NUMS * Card.NUM_IDS];
+
+    /**
+     * Creates a heuristic strategy with the given weights.
+     *
+     * @param baseWeight         the score every playable card starts with
+     * @param actionWeight       added for action and wild cards (card numbers above 9)
+     * @param numberWeight       added for number cards (card numbers 0 to 9)
+     * @param wildWeight         added for wild cards
+     * @param nonWildWeight      added for every card that is not wild
+     * @param colorMatchWeight   added if the card has the active color
+     * @param cardNumMatchWeight added if the card has the same number as the top card
+     */
+    public HeuristicStrategy(int baseWeight, int actionWeight, int numberWeight, int wildWeight,
+                             int nonWildWeight, int colorMatchWeight, int cardNumMatchWeight) {
+        this(baseWeight, actionWeight, numberWeight, wildWeight, nonWildWeight, colorMatchWeight, cardNumMatchWeight, 0);
+    }
+
+    /**
+     * Creates a heuristic strategy with the given weights, which also weighs action cards
+     * when naming the color of a wild card. A color then scores 10 for every card of that
+     * color in the hand, plus the wild color weight for every Draw Two, Reverse and Skip
+     * among them, and the color with the highest score is named.
+     *
+     * @param baseWeight            the score every playable card starts with
+     * @param actionWeight          added for action and wild cards (card numbers above 9)
+     * @param numberWeight          added for number cards (card numbers 0 to 9)
+     * @param wildWeight            added for wild cards
+     * @param nonWildWeight         added for every card that is not wild
+     * @param colorMatchWeight      added if the card has the active color
+     * @param cardNumMatchWeight    added if the card has the same number as the top card
+     * @param wildColorActionWeight added to a color's score for every action card of that color, where
+     *                              every card of the color scores 10. With 0 the most common color is named.
+     */
+    public HeuristicStrategy(int baseWeight, int actionWeight, int numberWeight, int wildWeight, int nonWildWeight,
+                             int colorMatchWeight, int cardNumMatchWeight, int wildColorActionWeight) {
+        this.baseWeight = baseWeight;
+        this.actionWeight = actionWeight;
+        this.numberWeight = numberWeight;
+        this.wildWeight = wildWeight;
+        this.nonWildWeight = nonWildWeight;
+        this.colorMatchWeight = colorMatchWeight;
+        this.cardNumMatchWeight = cardNumMatchWeight;
+        this.wildColorActionWeight = wildColorActionWeight;
+        numberScore = baseWeight + numberWeight + nonWildWeight;
+        actionBonus = actionWeight - numberWeight;
+        wildBonus = wildWeight - nonWildWeight;
+
+        for (int activeColor = 0; activeColor < 4; activeColor++) {
+            for (int topCardNum = 0; topCardNum < Card.NUM_CARD_NUMS; topCardNum++) {
+                getScores(topCardNum, activeColor, scoreTable, (activeColor * Card.NUM_CARD_NUMS + topCardNum) * Card.NUM_IDS);
+            }
+        }
+    }
+
+    // Finds the Vector API scorer if it was compiled, the JVM has the module, and the CPU's
+    // vectors fit the hand's id array; it is looked up by name, so the game compiles without it
+    private static HandScorer loadVectorScorer() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return null;
+        try {
+            return (HandScorer) Class.forName("Uno.HeuristicVectorScorer").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Chooses the playable card with the highest score, however low that score is. When
+     * several cards share the highest score, the one closest to the start of the hand is
+     * played. A card is only drawn when nothing is playable.
+     *
+     * @param game the table the hand is being played at
+     * @param hand the hand of the player whose turn it is
+     * @return the index of the best card, or {@code hand.numCardsInHand()} to draw
+     */
+    @Override
+    public int chooseMove(Game game, Hand hand) {
+        long playable = hand.getPlayableCardIds();
+        if (playable == 0) return hand.numCardsInHand();
+
+        int topCardNum = game.getDiscardPile().getTopCard(false).getCardNum();
+        int activeColor = game.getActiveColor().ordinal();
+        return VECTOR_API ? chooseMoveVector(hand, playable, topCardNum, activeColor)
+                : chooseMoveScalar(hand, playable, topCardNum, activeColor);
+    }
+
+    /**
+     * Chooses a move like {@link #chooseMove(Game, Hand)} by looking every playable card
+     * up in the score table, one card at a time. This is the path taken without the Vector API.
+     *
+     * @param hand        the hand of the player whose turn it is
+     * @param playable    the ids of the cards that can be played, see {@link Hand#getPlayableCardIds()}
+     * @param topCardNum  the number of the card on top of the discard pile
+     * @param activeColor the ordinal of the color currently in play
+     * @return the index of the best card, or {@code hand.numCardsInHand()} to draw
+     */
+    int chooseMoveScalar(Hand hand, long playable, int topCardNum, int activeColor) {
+        int numCards = hand.numCardsInHand();
+        int[] cardIds = hand.getCardIds();
+        int row = (activeColor * Card.NUM_CARD_NUMS + topCardNum) * Card.NUM_IDS;
+
+        int bestIndex = numCards;
+        int bestScore = Integer.MIN_VALUE;
+        for (int i = 0; i < numCards; i++) {
+            int id = cardIds[i];
+            if ((playable & (1L << id)) == 0) continue;
+            int score = scoreTable[row + id];
+            // The first playable card is taken whatever it scores, even Integer.MIN_VALUE
+            if (score > bestScore || bestIndex == numCards) {
+                bestScore = score;
+                bestIndex = i;
+            }
+        }
+        return bestIndex;
+    }
+
+    /**
+     * Chooses a move like {@link #chooseMove(Game, Hand)} with the Vector API, which must
+     * be available, see {@link #VECTOR_API}.
+     *
+     * @param hand        the hand of the player whose turn it is
+     * @param playable    the ids of the cards that can be played, see {@link Hand#getPlayableCardIds()}
+     * @param topCardNum  the number of the card on top of the discard pile
+     * @param activeColor the ordinal of the color currently in play
+     * @return the index of the best card, or {@code hand.numCardsInHand()} to draw
+     */
+    int chooseMoveVector(Hand hand, long playable, int topCardNum, int activeColor) {
+        return VECTOR_SCORER.chooseMove(hand, playable, topCardNum, activeColor,
+                numberScore, actionBonus, wildBonus, colorMatchWeight, cardNumMatchWeight);
+    }
+
+    /**
+     * Names the color the hand holds the most cards of. With a wild color weight, every
+     * card of a color counts 10 and every action card of it counts the weight on top, and
+     * ties go to the color that comes first in {@link Card.Colors}.
+     *
+     * @param game the table the hand is being played at
+     * @param hand the hand of the player whose turn it is
+     * @return the color with the highest score
+     */
+    @Override
+    public Card.Colors chooseWildColor(Game game, Hand hand) {
+        if (wildColorActionWeight == 0) return hand.getColorThatTheMostCardsUse();
+
+        Card.Colors[] colors = Card.Colors.values();
+        Card.Colors best = colors[0];
+        int bestScore = Integer.MIN_VALUE;
+        for (Card.Colors color : colors) {
+            int actions = 0;
+            for (int cardNum = 10; cardNum <= 12; cardNum++) {
+                actions += hand.getCardCount(Card.of(cardNum, color));
+            }
+            int score = 10 * hand.getColorCount(color) + wildColorActionWeight * actions;
+            if (score > bestScore) {
+                bestScore = score;
+                best = color;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Scores every card id at once against the given top card number and active color,
+     * as if each of them were playable. The loop reads one array per card feature and
+     * only adds and multiplies, with no branches, so once it is hot the JIT can compile
+     * it to SIMD instructions. Every score equals the one
+     * {@link #getScore(Card, Card, Card.Colors)} gives the same card, which stays as the
+     * plain, one-card-at-a-time version.
+     *
+     * @param topCardNum  the number of the card on top of the discard pile
+     * @param activeColor the ordinal of the color currently in play
+     * @param scores      the array to write the scores to, indexed by card id from the offset on
+     * @param offset      the index in the array of the score of card id 0
+     */
+    public void getScores(int topCardNum, int activeColor, int[] scores, int offset) {
+        for (int id = 0; id < Card.NUM_IDS; id++) {
+            int isAction = IS_ACTION[id];
+            int isWild = IS_WILD[id];
+            // 1 if the two are equal and 0 otherwise, since both are small and not negative
+            int colorMatch = ((COLORS[id] ^ activeColor) - 1) >>> 31;
+            int cardNumMatch = ((CARD_NUMS[id] ^ topCardNum) - 1) >>> 31;
+            scores[offset + id] = baseWeight
+                    + isAction * actionWeight + (1 - isAction) * numberWeight
+                    + isWild * wildWeight + (1 - isWild) * nonWildWeight
+                    + colorMatch * colorMatchWeight + cardNumMatch * cardNumMatchWeight;
+        }
+    }
+
+    /**
+     * Calculates the score of a playable card based on the current card on the deck.
+     *
+     * @param card the playable card to score
+     * @param currentCardOnDeck the card currently on the top of the deck
+     * @param activeColor the color currently in play, which is the chosen color if the top card is wild
+     * @return the score of the card
+     */
+    public int getScore(Card card, Card currentCardOnDeck, Card.Colors activeColor) {
+        int cardNum = card.getCardNum();
+
+        int score = baseWeight;
+        score += (cardNum > 9) ? actionWeight : numberWeight;
+        score += (cardNum >= 13) ? wildWeight : nonWildWeight;
+        score += (card.getCardColor() == activeColor) ? colorMatchWeight : 0;
+        score += (cardNum == currentCardOnDeck.getCardNum()) ? cardNumMatchWeight : 0;
+        return score;
+    }
+
+    /**
+     * Retrieves the weights of this strategy.
+     *
+     * @return the weights, in the order of {@link #WEIGHT_NAMES} and the constructor's parameters
+     */
+    public int[] getWeights() {
+        return new int[]{baseWeight, actionWeight, numberWeight, wildWeight, nonWildWeight,
+                colorMatchWeight, cardNumMatchWeight, wildColorActionWeight};
+    }
+
+    /**
+     * Creates a heuristic strategy from weights in the order of {@link #WEIGHT_NAMES}.
+     *
+     * @param weights the weights of the strategy
+     * @return the new strategy
+     * @throws Error if there are not exactly as many weights as names
+     */
+    public static HeuristicStrategy fromWeights(int[] weights) {
+        if (weights.length != WEIGHT_NAMES.length) {
+            throw new Error("Something terrible has occurred. (Expected " + WEIGHT_NAMES.length + " weights, got " + weights.length + ")");
+        }
+        return new HeuristicStrategy(weights[0], weights[1], weights[2], weights[3], weights[4], weights[5], weights[6], weights[7]);
+    }
+
+    /**
+     * Writes the weights of this strategy to a properties file, one {@code name=value}
+     * line per weight, which {@link #load(Path)} reads back.
+     *
+     * @param file    the file to write
+     * @param comment a comment to write at the top of the file, such as where the weights came from, or null
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path file, String comment) throws IOException {
+        Properties properties = new Properties();
+        int[] weights = getWeights();
+        for (int i = 0; i < weights.length; i++) {
+            properties.setProperty(WEIGHT_NAMES[i], Integer.toString(weights[i]));
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            properties.store(writer, comment);
+        }
+    }
+
+    /**
+     * Reads a strategy from a properties file written by {@link #save(Path, String)}.
+     * The wild color weight may be left out, in which case it is 0; every other weight must be there.
+     *
+     * @param file the file to read
+     * @return the strategy with the weights in the file
+     * @throws IOException if the file cannot be read
+     * @throws Error if a weight is missing or is not a whole number
+     */
+    public static HeuristicStrategy load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        int[] weights = new int[WEIGHT_NAMES.length];
+        for (int i = 0; i < weights.length; i++) {
+            String value = properties.getProperty(WEIGHT_NAMES[i], (i == weights.length - 1) ? "0" : null);
+            if (value == null) {
+                throw new Error("Something terrible has occurred. (" + file + " has no " + WEIGHT_NAMES[i] + ")");
+            }
+            try {
+                weights[i] = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                throw new Error("Something terrible has occurred. (" + file + " gives \"" + value + "\" for " + WEIGHT_NAMES[i] + ")");
+            }
+        }
+        return fromWeights(weights);
+    }
+
+    /**
+     * Returns the weights of this strategy.
+     *
+     * @return a string listing the weights in the order of the constructor's parameters,
+     *         leaving out the wild color weight if it is 0
+     */
+    public String toString() {
+        return "Heuristic(" + baseWeight + ", " + actionWeight + ", " + numberWeight + ", " + wildWeight + ", "
+                + nonWildWeight + ", " + colorMatchWeight + ", " + cardNumMatchWeight
+                + ((wildColorActionWeight != 0) ? ", " + wildColorActionWeight : "") + ")";
+    }
+}
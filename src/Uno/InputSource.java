@@ -0,0 +1,38 @@
+package Uno;
+
+/**
+ * Supplies the answers of the human player at the console.
+ * <p>
+ * Every question the interactive game asks, whether it is the card to play, the
+ * color of a wild card, what to say with one card left or the player's username,
+ * is answered through the current input source, which is set with
+ * {@link Utility.Console#setInputSource(InputSource)}. {@link TerminalInput} reads what
+ * is typed at the console, {@link ScriptedInput} gives answers from a list or file,
+ * and {@link AutoHumanInput} lets a strategy answer in place of the human, so the
+ * human's side of the game can be played at full speed.
+ */
+public interface InputSource {
+    /**
+     * Reads the answer to a question that expects a number, such as the card to play.
+     *
+     * @return the number given
+     */
+    int readNumber();
+
+    /**
+     * Reads the answer to a question that expects text, such as the player's username.
+     *
+     * @return the line given
+     */
+    String readLine();
+
+    /**
+     * Tells the input source that a game has started, and which of its players it answers for.
+     * Input sources that do not need to know what is happening at the table can ignore this.
+     *
+     * @param game   the table that was just created
+     * @param player the human player at that table
+     */
+    default void startGame(Game game, Player player) {
+    }
+}
@@ -0,0 +1,484 @@
+package Uno;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+/**
+ * A bot strategy based on Information Set Monte Carlo Tree Search (single-observer ISMCTS).
+ * <p>
+ * The bot cannot see the other hands or the order of the draw pile, so every search
+ * iteration first deals a random "determinization" that is consistent with what it can
+ * see: its own hand, every card in the discard pile, and how many cards each opponent
+ * holds. The cards it has not seen are shuffled and dealt to the opponents and the draw
+ * pile. The iteration then walks down a shared tree, only considering moves that are legal
+ * in that determinization, and plays the game out with random moves to see who wins.
+ * <p>
+ * Several searches run in parallel on a thread pool, each with its own tree, until the
+ * per-move deadline passes; their root visit counts are then added up and the most
+ * visited move is played (root parallelization). Wild colors are named the same way the
+ * default bot names them, both in the search and when playing.
+ * <p>
+ * Searches never touch the real {@link Game}: everything they need is copied on the
+ * table's thread before they start, so one instance can serve many tables at once.
+ */
+public final class IsmctsStrategy implements Strategy {
+    /**
+     * The move number for drawing a card. Moves 0 to {@code Card.NUM_IDS - 1} play the card with that id.
+     */
+    private static final int DRAW = Card.NUM_IDS;
+
+    /**
+     * The exploration constant of the UCB formula used while walking down the tree.
+     */
+    private static final double EXPLORATION = 0.7;
+
+    /**
+     * The number of moves after which a random playout is abandoned without a winner.
+     */
+    private static final int MAX_PLAYOUT_MOVES = 2_000;
+
+    private final ExecutorService executor;
+    private final int numSearches;
+    private final long moveTimeNanos;
+
+    // Throughput counters, shared by every search this strategy runs
+    private final LongAdder playouts = new LongAdder();
+    private final LongAdder searchNanos = new LongAdder();
+
+    /**
+     * Creates an ISMCTS strategy that runs its searches on the given thread pool.
+     *
+     * @param executor       the pool the searches run on
+     * @param numSearches    how many independent searches to run in parallel for every move
+     * @param moveTimeMillis how long to search for every move, in milliseconds
+     */
+    public IsmctsStrategy(ExecutorService executor, int numSearches, long moveTimeMillis) {
+        this.executor = executor;
+        this.numSearches = numSearches;
+        this.moveTimeNanos = moveTimeMillis * 1_000_000;
+    }
+
+    /**
+     * Creates an ISMCTS strategy with its own pool of the given number of threads,
+     * running one search per thread.
+     *
+     * @param numThreads     the number of threads to search with
+     * @param moveTimeMillis how long to search for every move, in milliseconds
+     */
+    public IsmctsStrategy(int numThreads, long moveTimeMillis) {
+        this(new ForkJoinPool(numThreads), numThreads, moveTimeMillis);
+    }
+
+    /**
+     * Searches for the best card to play until the move deadline passes.
+     * If there is at most one legal move, it is returned without searching.
+     *
+     * @param game the table the hand is being played at
+     * @param hand the hand of the player whose turn it is
+     * @return the index of the most visited card, or {@code hand.numCardsInHand()} to draw
+     */
+    @Override
+    public int chooseMove(Game game, Hand hand) {
+        long playable = hand.getPlayableCardIds();
+        if (playable == 0) return hand.numCardsInHand();
+        if (Long.bitCount(playable) == 1) return hand.indexOfCard(Long.numberOfTrailingZeros(playable));
+
+        Observation observation = new Observation(game, hand);
+        long deadline = System.nanoTime() + moveTimeNanos;
+        List<Callable<long[]>> searches = new ArrayList<>(numSearches);
+        for (int i = 0; i < numSearches; i++) {
+            searches.add(() -> search(observation, deadline));
+        }
+
+        long[] visits = new long[DRAW + 1];
+        try {
+            for (Future<long[]> search : executor.invokeAll(searches)) {
+                long[] searchVisits = search.get();
+                for (int move = 0; move <= DRAW; move++) {
+                    visits[move] += searchVisits[move];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new Error("Something terrible has occurred. (A search failed)", e.getCause());
+        }
+
+        int bestMove = -1;
+        for (long moves = playable; moves != 0; moves &= moves - 1) {
+            int move = Long.numberOfTrailingZeros(moves);
+            if (bestMove < 0 || visits[move] > visits[bestMove]) bestMove = move;
+        }
+        if (visits[bestMove] == 0) {
+            // Interrupted before anything was searched, fall back to the default bot
+            return HeuristicStrategy.DEFAULT.chooseMove(game, hand);
+        }
+        return hand.indexOfCard(bestMove);
+    }
+
+    /**
+     * Names the color the hand holds the most cards of, like the default bot.
+     *
+     * @param game the table the hand is being played at
+     * @param hand the hand of the player whose turn it is
+     * @return the most common color in the hand
+     */
+    @Override
+    public Card.Colors chooseWildColor(Game game, Hand hand) {
+        return hand.getColorThatTheMostCardsUse();
+    }
+
+    /**
+     * Retrieves the total number of random playouts run by this strategy so far.
+     *
+     * @return the number of playouts
+     */
+    public long getPlayouts() {
+        return playouts.sum();
+    }
+
+    /**
+     * Retrieves how many random playouts one search thread runs per second, averaged
+     * over every search this strategy has run so far.
+     *
+     * @return the playouts per second per core
+     */
+    public double getPlayoutsPerSecondPerCore() {
+        long nanos = searchNanos.sum();
+        return (nanos == 0) ? 0 : playouts.sum() * 1e9 / nanos;
+    }
+
+    /**
+     * Shuts down the thread pool the searches run on.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Runs one search with its own tree until the deadline passes.
+     *
+     * @param observation what the bot can see of the game
+     * @param deadline    the value of {@link System#nanoTime()} at which to stop
+     * @return the number of visits of every move at the root of the tree
+     */
+    private long[] search(Observation observation, long deadline) {
+        long start = System.nanoTime();
+        RandomGenerator random = ThreadLocalRandom.current();
+        Position position = new Position(observation.numPlayers);
+        Node root = new Node(null, -1, -1);
+        long iterations = 0;
+
+        do {
+            position.determinize(observation, random);
+            Node node = root;
+
+            // Selection: walk down while every move that is legal here has been tried
+            long legal = position.getLegalMoves();
+            while (position.winner < 0 && (legal & ~node.triedMoves) == 0) {
+                node = node.select(legal);
+                position.play(node.move, random);
+                legal = position.getLegalMoves();
+            }
+
+            // Expansion: try one of the legal moves that has not been tried yet
+            if (position.winner < 0) {
+                node.markAvailable(legal);
+                int move = pickRandomMove(legal & ~node.triedMoves, random);
+                node = node.addChild(move, position.current);
+                position.play(move, random);
+            }
+
+            // Playout: finish the game with random moves
+            for (int i = 0; i < MAX_PLAYOUT_MOVES && position.winner < 0; i++) {
+                position.play(pickRandomMove(position.getLegalMoves(), random), random);
+            }
+
+            // Backpropagation: every node scores a win for the player who made its move
+            for (Node n = node; n != null; n = n.parent) {
+                n.visits++;
+                if (n.player >= 0 && n.player == position.winner) n.wins++;
+            }
+            iterations++;
+        } while (System.nanoTime() < deadline);
+
+        playouts.add(iterations);
+        searchNanos.add(System.nanoTime() - start);
+
+        long[] visits = new long[DRAW + 1];
+        for (Node child : root.children) {
+            visits[child.move] = child.visits;
+        }
+        return visits;
+    }
+
+    // Picks one of the moves in the mask at random
+    private static int pickRandomMove(long moves, RandomGenerator random) {
+        for (int skip = random.nextInt(Long.bitCount(moves)); skip > 0; skip--) {
+            moves &= moves - 1;
+        }
+        return Long.numberOfTrailingZeros(moves);
+    }
+
+    /**
+     * A node of the search tree. Since the tree is shared by every determinization,
+     * a child may not be legal in every iteration, so each child counts how often it
+     * was available to be chosen, and that count replaces the parent's visits in UCB.
+     */
+    private static final class Node {
+        private final Node parent;
+        private final int move;
+        private final int player; // The player who made the move leading here, -1 for the root
+        private final List<Node> children = new ArrayList<>();
+        private long triedMoves = 0; // Bit i is set if a child for move i exists
+        private int visits = 0;
+        private int availability = 0;
+        private int wins = 0;
+
+        private Node(Node parent, int move, int player) {
+            this.parent = parent;
+            this.move = move;
+            this.player = player;
+        }
+
+        private Node addChild(int move, int player) {
+            Node child = new Node(this, move, player);
+            child.availability = 1;
+            children.add(child);
+            triedMoves |= 1L << move;
+            return child;
+        }
+
+        // Counts an iteration in which the children for the legal moves could have been chosen
+        private void markAvailable(long legal) {
+            for (Node child : children) {
+                if ((legal & (1L << child.move)) != 0) child.availability++;
+            }
+        }
+
+        // Picks the legal child with the highest UCB score, counting its siblings as available
+        private Node select(long legal) {
+            markAvailable(legal);
+            Node best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                if ((legal & (1L << child.move)) == 0) continue;
+                double score = (double) child.wins / child.visits
+                        + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Everything the bot can see of the game when it is asked for a move, copied on the
+     * table's thread so the searches never read the live game.
+     */
+    private static final class Observation {
+        private final int numPlayers;
+        private final int me;
+        private final int[] myCards = new int[Card.NUM_IDS];
+        private final int[] handSizes;
+        private final boolean[] drawKeepsTurn;
+        private final byte[] discard;
+        private final byte[] unseen;
+        private final int topCard;
+        private final int activeColor;
+        private final int flowDirection;
+
+        private Observation(Game game, Hand hand) {
+            numPlayers = game.getNumPlayers();
+            me = game.getCurrentPlayer();
+            topCard = game.getDiscardPile().getTopCard(false).getId();
+            activeColor = game.getActiveColor().ordinal();
+            flowDirection = game.getFlowDirection();
+
+            handSizes = new int[numPlayers];
+            drawKeepsTurn = new boolean[numPlayers];
+            for (int i = 0; i < numPlayers; i++) {
+                Player player = game.getPlayer(i);
+                handSizes[i] = player.getHand().numCardsInHand();
+                // Bots keep drawing until they can play, humans pass after drawing
+                drawKeepsTurn[i] = player.isBot();
+            }
+
+            // Every card of a full deck that is neither in this hand nor in the discard pile is unseen
+            int[] unseenCounts = new int[Card.NUM_IDS];
+            for (int id = 0; id < Card.NUM_IDS; id++) {
+                myCards[id] = hand.getCardCount(Card.fromId(id));
+                unseenCounts[id] = Deck.getCopiesPerDeck(Card.fromId(id)) - myCards[id];
+            }
+            Deck discardPile = game.getDiscardPile();
+            discard = new byte[discardPile.size()];
+            for (int i = 0; i < discard.length; i++) {
+                discard[i] = (byte) discardPile.getCardId(i);
+                unseenCounts[discard[i]]--;
+            }
+            int numUnseen = 0;
+            for (int count : unseenCounts) numUnseen += count;
+            unseen = new byte[numUnseen];
+            int size = 0;
+            for (int id = 0; id < Card.NUM_IDS; id++) {
+                for (int i = 0; i < unseenCounts[id]; i++) unseen[size++] = (byte) id;
+            }
+        }
+    }
+
+    /**
+     * A compact, fully known game state that playouts are run on. It follows the same
+     * rules as {@link Game} and {@link Player}: Draw Two and Wild Draw 4 make the next
+     * player draw without skipping them, and a bot that draws keeps its turn.
+     */
+    private static final class Position {
+        private final int numPlayers;
+        private final int[][] cardCounts;
+        private final int[][] colorCounts;
+        private final long[] cardMasks;
+        private final int[] handSizes;
+        private boolean[] drawKeepsTurn;
+        private final byte[] drawPile = new byte[Deck.DECK_SIZE];
+        private int drawSize;
+        private final byte[] discardPile = new byte[Deck.DECK_SIZE];
+        private int discardSize;
+        private int activeColor;
+        private int current;
+        private int flowDirection;
+        private int winner;
+
+        private Position(int numPlayers) {
+            this.numPlayers = numPlayers;
+            cardCounts = new int[numPlayers][Card.NUM_IDS];
+            colorCounts = new int[numPlayers][4];
+            cardMasks = new long[numPlayers];
+            handSizes = new int[numPlayers];
+        }
+
+        // Deals the unseen cards at random to the opponents and the draw pile
+        private void determinize(Observation observation, RandomGenerator random) {
+            drawKeepsTurn = observation.drawKeepsTurn;
+            activeColor = observation.activeColor;
+            current = observation.me;
+            flowDirection = observation.flowDirection;
+            winner = -1;
+            discardSize = observation.discard.length;
+            System.arraycopy(observation.discard, 0, discardPile, 0, discardSize);
+
+            drawSize = observation.unseen.length;
+            System.arraycopy(observation.unseen, 0, drawPile, 0, drawSize);
+            shuffleDrawPile(random);
+
+            for (int p = 0; p < numPlayers; p++) {
+                Arrays.fill(cardCounts[p], 0);
+                Arrays.fill(colorCounts[p], 0);
+                cardMasks[p] = 0;
+                handSizes[p] = 0;
+                if (p == observation.me) {
+                    for (int id = 0; id < Card.NUM_IDS; id++) {
+                        for (int i = 0; i < observation.myCards[id]; i++) addCard(p, id);
+                    }
+                } else {
+                    for (int i = 0; i < observation.handSizes[p]; i++) addCard(p, drawPile[--drawSize]);
+                }
+            }
+        }
+
+        private void shuffleDrawPile(RandomGenerator random) {
+            for (int i = drawSize - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                byte card = drawPile[i];
+                drawPile[i] = drawPile[j];
+                drawPile[j] = card;
+            }
+        }
+
+        private void addCard(int player, int id) {
+            cardCounts[player][id]++;
+            cardMasks[player] |= 1L << id;
+            if (id % Card.NUM_CARD_NUMS < 13) colorCounts[player][id / Card.NUM_CARD_NUMS]++;
+            handSizes[player]++;
+        }
+
+        private void removeCard(int player, int id) {
+            if (--cardCounts[player][id] == 0) cardMasks[player] &= ~(1L << id);
+            if (id % Card.NUM_CARD_NUMS < 13) colorCounts[player][id / Card.NUM_CARD_NUMS]--;
+            handSizes[player]--;
+        }
+
+        // The cards the current player can play as a mask of card ids, or only DRAW if there are none
+        private long getLegalMoves() {
+            long playable = cardMasks[current] & Card.getPlayableMask(discardPile[discardSize - 1], activeColor);
+            return (playable != 0) ? playable : 1L << DRAW;
+        }
+
+        // Draws one card, reshuffling the discard pile if needed. Returns -1 if there is nothing to draw.
+        private int drawCard(RandomGenerator random) {
+            if (drawSize == 0) {
+                if (discardSize <= 1) return -1;
+                drawSize = discardSize - 1;
+                System.arraycopy(discardPile, 0, drawPile, 0, drawSize);
+                discardPile[0] = discardPile[discardSize - 1];
+                discardSize = 1;
+                shuffleDrawPile(random);
+            }
+            return drawPile[--drawSize];
+        }
+
+        private void giveCards(int player, int count, RandomGenerator random) {
+            for (int i = 0; i < count; i++) {
+                int id = drawCard(random);
+                if (id < 0) return;
+                addCard(player, id);
+            }
+        }
+
+        private int getNextPlayer() {
+            return (current + flowDirection + numPlayers) % numPlayers;
+        }
+
+        private void play(int move, RandomGenerator random) {
+            int player = current;
+            if (move == DRAW) {
+                int id = drawCard(random);
+                if (id >= 0) addCard(player, id);
+                // Passing when nothing could be drawn keeps a stuck playout from looping forever
+                if (!drawKeepsTurn[player] || id < 0) current = getNextPlayer();
+                return;
+            }
+
+            removeCard(player, move);
+            discardPile[discardSize++] = (byte) move;
+            int cardNum = move % Card.NUM_CARD_NUMS;
+            activeColor = (cardNum >= 13) ? getMostCommonColor(player) : move / Card.NUM_CARD_NUMS;
+            switch (cardNum) {
+                case 10 -> giveCards(getNextPlayer(), 2, random);
+                case 11 -> flowDirection = -flowDirection;
+                case 12 -> current = getNextPlayer();
+                case 14 -> giveCards(getNextPlayer(), 4, random);
+            }
+            if (handSizes[player] == 0) winner = player;
+            current = getNextPlayer();
+        }
+
+        // Same choice as Hand.getColorThatTheMostCardsUse
+        private int getMostCommonColor(int player) {
+            int best = 0;
+            for (int i = 1; i < 4; i++) {
+                if (colorCounts[player][i] > colorCounts[player][best]) best = i;
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package Uno;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts durations in buckets whose bounds double from one to the next, so that
+ * percentiles can be read at any time while any number of threads keep recording.
+ * <p>
+ * Every bucket is a {@link LongAdder}, which spreads contended increments over
+ * separate cells instead of making the threads wait for each other, so recording
+ * never locks. A value is only placed in its power-of-two bucket, which means a
+ * percentile is known to within a factor of two, plenty to tell a slow turn from a
+ * fast one.
+ */
+public class LatencyHistogram {
+    // Bucket i holds the values whose highest set bit is bit i - 1, bucket 0 holds zero
+    private static final int NUM_BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[NUM_BUCKETS];
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Creates an empty histogram.
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Adds a duration to the histogram. Negative durations count as zero.
+     *
+     * @param nanos the duration, in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets[Math.min(NUM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos))].increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    /**
+     * Retrieves the number of durations recorded.
+     *
+     * @return the number of durations
+     */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Retrieves the mean of the recorded durations.
+     *
+     * @return the mean duration in nanoseconds, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        long count = getCount();
+        return (count == 0) ? 0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * Retrieves the longest recorded duration.
+     *
+     * @return the longest duration in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Estimates a percentile of the recorded durations as the upper bound of the bucket
+     * it falls in, which is never more than twice the true value, nor above the maximum.
+     *
+     * @param percentile the percentile to estimate, between 0 and 100
+     * @return the estimated duration in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[NUM_BUCKETS];
+        long count = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        if (count == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long upperBound = (i == 0) ? 0 : (i >= 63) ? Long.MAX_VALUE : (1L << i) - 1;
+                return Math.min(upperBound, getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Empties the histogram. Durations recorded by other threads while it is being
+     * emptied may or may not be kept.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        sum.reset();
+        max.reset();
+    }
+}
@@ -0,0 +1,151 @@
+package Uno;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generates load for a {@link GameServer} by opening many connections at once, each of
+ * which plays games back to back until the run ends.
+ * <p>
+ * Every connection runs on its own virtual thread and plays the first playable card of
+ * its hand, naming the color it holds the most of for wild cards, and always says "uno".
+ * The time between sending a line and receiving the server's first line back is measured
+ * for every request, which includes the bot moves the server plays in between.
+ */
+public class LoadClient {
+    private static final String COLOR_LETTERS = "RYGB";
+
+    private final String host;
+    private final int port;
+
+    private final LongAdder games = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Creates a load generator for the server at the given address.
+     *
+     * @param host the host name of the server
+     * @param port the port of the server
+     */
+    public LoadClient(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Opens the given number of connections and plays on all of them until the time is up.
+     *
+     * @param numConnections the number of connections to keep open at once
+     * @param durationMillis how long to play for, in milliseconds
+     * @return the statistics of the run, formatted as semicolon-separated lines
+     */
+    public String run(int numConnections, long durationMillis) {
+        long start = System.nanoTime();
+        long deadline = start + durationMillis * 1_000_000;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < numConnections; i++) {
+                int connection = i;
+                executor.execute(() -> play(connection, deadline));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long numMoves = moves.sum();
+        return "Connections: " + numConnections + ";"
+                + "Failed: " + failures.sum() + ";"
+                + String.format("Games: %d (%.0f/s);", games.sum(), games.sum() / seconds)
+                + String.format("Requests: %d (%.0f/s);", numMoves, numMoves / seconds)
+                + String.format("Mean Latency: %.3f ms;", (numMoves == 0) ? 0 : latencyNanos.sum() / 1e6 / numMoves)
+                + String.format("Max Latency: %.3f ms", maxLatencyNanos.get() / 1e6);
+    }
+
+    // Plays games on one connection until the deadline passes
+    private void play(int connection, long deadline) {
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+
+            while (System.nanoTime() < deadline) {
+                String line = request(in, out, "JOIN Load " + connection);
+                while (!line.startsWith("WIN")) {
+                    if (line.startsWith("TURN")) {
+                        line = request(in, out, chooseMove(line));
+                    } else if (line.equals("UNO?")) {
+                        line = request(in, out, "SAY uno");
+                    } else if (line.startsWith("ERR")) {
+                        throw new IOException("The server rejected a move: " + line);
+                    } else {
+                        line = readLine(in);
+                    }
+                }
+                games.increment();
+            }
+            out.write("QUIT\n");
+            out.flush();
+        } catch (IOException e) {
+            failures.increment();
+        }
+    }
+
+    // Sends a line and waits for the first line of the answer, timing the round trip
+    private String request(BufferedReader in, Writer out, String line) throws IOException {
+        out.write(line);
+        out.write('\n');
+        out.flush();
+        long start = System.nanoTime();
+        String answer = readLine(in);
+        long latency = System.nanoTime() - start;
+        moves.increment();
+        latencyNanos.add(latency);
+        maxLatencyNanos.accumulate(latency);
+        return answer;
+    }
+
+    private static String readLine(BufferedReader in) throws IOException {
+        String line = in.readLine();
+        if (line == null) throw new IOException("The server closed the connection");
+        return line;
+    }
+
+    /**
+     * Chooses a move from a TURN line: the first playable card, or a draw if there is none.
+     *
+     * @param turn the TURN line sent by the server
+     * @return the PLAY line to send back
+     */
+    static String chooseMove(String turn) {
+        String[] parts = turn.split(" ");
+        Card top = Card.fromId(Integer.parseInt(parts[1]));
+        Card.Colors activeColor = Card.Colors.values()[COLOR_LETTERS.indexOf(parts[2].charAt(0))];
+
+        int numCards = parts.length - 3;
+        int[] colorCounts = new int[COLOR_LETTERS.length()];
+        int move = numCards;
+        for (int i = 0; i < numCards; i++) {
+            Card card = Card.fromId(Integer.parseInt(parts[i + 3]));
+            if (!card.isWild()) colorCounts[card.getCardColor().ordinal()]++;
+            if (move == numCards && card.canPlayCard(top, activeColor)) move = i;
+        }
+        if (move == numCards || !Card.fromId(Integer.parseInt(parts[move + 3])).isWild()) return "PLAY " + move;
+
+        int best = 0;
+        for (int i = 1; i < colorCounts.length; i++) {
+            if (colorCounts[i] > colorCounts[best]) best = i;
+        }
+        return "PLAY " + move + " " + COLOR_LETTERS.charAt(best);
+    }
+}
@@ -1,25 +1,259 @@
 package Uno;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
 public class Main {
+    /**
+     * The file the bots load their weights from at startup if it exists, as written by
+     * {@code --optimize}. Simulations, tournaments and benchmarks always use the default weights.
+     */
+    static final String DEFAULT_WEIGHTS_FILE = "bot-weights.properties";
+
     public static void main(String[] args) {
+        // Usage: --simulate <number of games> [number of bots per table] [seed]
+        if (args.length > 0 && args[0].equals("--simulate")) {
+            simulate(args);
+            return;
+        }
+        // Usage: --tournament <games per pair> [seed] [threads]
+        if (args.length > 0 && args[0].equals("--tournament")) {
+            tournament(args);
+            return;
+        }
+        // Usage: --optimize [generations] [games per candidate] [weights file] [seed]
+        if (args.length > 0 && args[0].equals("--optimize")) {
+            optimize(args);
+            return;
+        }
+
+        // Usage: --serve [port] [number of bots per table] [weights file]
+        if (args.length > 0 && args[0].equals("--serve")) {
+            serve(args);
+            return;
+        }
+        // Usage: --load <number of connections> [seconds] [host] [port]
+        if (args.length > 0 && args[0].equals("--load")) {
+            int numConnections = (args.length > 1) ? Integer.parseInt(args[1]) : 1_000;
+            long seconds = (args.length > 2) ? Long.parseLong(args[2]) : 10;
+            String host = (args.length > 3) ? args[3] : "localhost";
+            int port = (args.length > 4) ? Integer.parseInt(args[4]) : GameServer.DEFAULT_PORT;
+            Utility.Console.writeTUIBox(new LoadClient(host, port).run(numConnections, seconds * 1000), false, false);
+            return;
+        }
+        // Usage: --analyze <flight recording>, made with the uno.jfc profile
+        if (args.length > 1 && args[0].equals("--analyze")) {
+            try {
+                System.out.print(FlightRecordingAnalyzer.analyze(Path.of(args[1])));
+            } catch (IOException e) {
+                System.err.println("Could not read the recording: " + e.getMessage());
+            }
+            return;
+        }
+        // Usage: --benchmark (reports only; the JMH benchmarks and the tests are run with Maven, see pom.xml)
+        if (args.length > 0 && args[0].equals("--benchmark")) {
+            Benchmark.main(args);
+            return;
+        }
+
+        // Usage: [--screen] [--seed <seed>] [--record <file> | --replay <file> | --auto] [--weights <file>]
+        // --screen plays on one fixed screen that is redrawn in place, --seed shuffles
+        // the same way every time, --record writes every answer to a file, --replay
+        // answers from such a file, --auto lets a bot answer for the human and --weights
+        // loads the bots' weights from a file written by --optimize
+        boolean useScreen = false;
+        Long seed = null;
+        String weightsPath = null;
+        String recordPath = null;
+        RecordingInput recording = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--screen" -> useScreen = true;
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--record" -> {
+                    recordPath = args[++i];
+                    recording = new RecordingInput(Utility.Console.getInputSource());
+                    Utility.Console.setInputSource(recording);
+                }
+                case "--replay" -> {
+                    try {
+                        Utility.Console.setInputSource(ScriptedInput.fromFile(Path.of(args[++i])));
+                    } catch (IOException e) {
+                        System.err.println("Could not read the session: " + e.getMessage());
+                        return;
+                    }
+                }
+                case "--auto" -> Utility.Console.setInputSource(new AutoHumanInput(HeuristicStrategy.DEFAULT));
+                case "--weights" -> weightsPath = args[++i];
+                default -> {
+                    System.err.println("Unknown option: " + args[i]);
+                    return;
+                }
+            }
+        }
+        Strategy botStrategy;
+        try {
+            botStrategy = loadBotStrategy(weightsPath);
+        } catch (IOException e) {
+            System.err.println("Could not read the weights: " + e.getMessage());
+            return;
+        }
+        if (recording != null && seed == null) {
+            // A recorded session only plays the same way again with the same shuffles
+            seed = new SplittableRandom().nextLong();
+        }
+
         Utility.Console.checkForANSI();
-        Utility.Console.writeTUIBox("What is your username?", false, false);
-        Game.initGame(3, Utility.Console.getStringInput());
-
-        while (!Game.isGameOver()) {
-            Game.players[0].queryUserAction();
-            while (!Game.isPlayerTurn()) {
-                int currentPlayer = Game.getCurrentPlayer();
-                Game.players[currentPlayer].makeBotMove();
-                int numCards = Game.players[currentPlayer].getHand().numCardsInHand();
-                Utility.Console.writeTUIBox(Game.players[currentPlayer].getUsername() + ((Game.players[currentPlayer].getLatestPlayedCard().equals("drew a card")) ? " " : " played a ") + Game.players[currentPlayer].getLatestPlayedCard() +
-                        ".;They now have " + numCards + " card(s) left." + ((numCards == 1) ? ";Uno!" : ""),
-                        false, false);
-                if (Game.isGameOver()) {
+        if (useScreen) {
+            if (Utility.Console.canDisplayANSICodes()) {
+                Utility.Console.setView(new ScreenView());
+            } else {
+                Utility.Console.writeTUIBox("The screen view needs ANSI support.;Showing boxes instead.", false, false);
+            }
+        }
+        playInteractiveGame((seed != null) ? new SplittableRandom(seed) : RandomGenerator.getDefault(), botStrategy);
+
+        if (recording != null) {
+            try {
+                recording.writeTo(Path.of(recordPath));
+                Utility.Console.writeTUIBox("Saved the session to " + recordPath + ";Replay it with:;--seed " + seed + " --replay " + recordPath, false, false);
+            } catch (IOException e) {
+                System.err.println("Could not save the session: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Plays one game against three bots at the console, asking for the human's username
+     * first and announcing the winner at the end. Everything is shown with the current
+     * view and every answer is read from the current input source.
+     *
+     * @param random the random generator the draw pile shuffles with
+     * @return the finished game
+     */
+    static Game playInteractiveGame(RandomGenerator random) {
+        return playInteractiveGame(random, HeuristicStrategy.DEFAULT);
+    }
+
+    /**
+     * Plays one game against three bots with the given strategy at the console, see
+     * {@link #playInteractiveGame(RandomGenerator)}.
+     *
+     * @param random      the random generator the draw pile shuffles with
+     * @param botStrategy the strategy every bot plays with
+     * @return the finished game
+     */
+    static Game playInteractiveGame(RandomGenerator random, Strategy botStrategy) {
+        GameView view = Utility.Console.getView();
+        view.showMessage("What is your username?");
+        Game game = new Game(random, 3, Utility.Console.getStringInput(), botStrategy);
+        Utility.Console.getInputSource().startGame(game, game.getPlayer(0));
+
+        while (!game.isGameOver()) {
+            game.getPlayer(0).queryUserAction();
+            while (!game.isPlayerTurn()) {
+                Player bot = game.getPlayer(game.getCurrentPlayer());
+                bot.makeBotMove();
+                view.showBotMove(game, bot);
+                if (game.isGameOver()) {
                     break;
                 }
             }
         }
-        Utility.Console.writeTUIBox(Game.players[Game.getWinningPlayer()].getUsername() + " won the game!", false, false);
+        view.showMessage(game.getPlayer(game.getWinningPlayer()).getUsername() + " won the game!");
+        return game;
+    }
+
+    private static void simulate(String[] args) {
+        int numGames = (args.length > 1) ? Integer.parseInt(args[1]) : 100_000;
+        int numPlayers = (args.length > 2) ? Integer.parseInt(args[2]) : 4;
+        long seed = (args.length > 3) ? Long.parseLong(args[3]) : RandomGenerator.getDefault().nextLong();
+
+        long start = System.nanoTime();
+        Simulation.Result result = Simulation.run(numGames, numPlayers, Runtime.getRuntime().availableProcessors(), seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Utility.Console.writeTUIBox(result + String.format("Time: %.2fs (%.0f games/s)", seconds, numGames / seconds), false, false);
+    }
+
+    // Plays the default bot against variants with different weights and shows their ratings
+    private static void tournament(String[] args) {
+        int gamesPerPair = (args.length > 1) ? Integer.parseInt(args[1]) : 10_000;
+        long seed = (args.length > 2) ? Long.parseLong(args[2]) : 0;
+        int threads = (args.length > 3) ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        String[] names = {"Default", "Actions", "Wilds", "Colors", "Numbers"};
+        String[] changes = {"hand-picked weights", "action weight 30", "wild weight +10", "color match weight 20",
+                "number weights 20, 10, 12"};
+        Strategy[] strategies = {
+                HeuristicStrategy.DEFAULT,
+                new HeuristicStrategy(5, 30, 10, -10, 5, 8, 6),
+                new HeuristicStrategy(5, 20, 10, 10, 5, 8, 6),
+                new HeuristicStrategy(5, 20, 10, -10, 5, 20, 6),
+                new HeuristicStrategy(5, 10, 20, -10, 5, 8, 12)
+        };
+
+        long start = System.nanoTime();
+        Tournament.Result result = new Tournament(names, strategies).run(gamesPerPair, seed, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        StringBuilder legend = new StringBuilder();
+        for (int i = 0; i < names.length; i++) {
+            legend.append(names[i]).append(": ").append(changes[i]).append(";");
+        }
+        Utility.Console.writeTUIBox(result + "-".repeat(Utility.Console.getBoxWidth() + 2) + ";" + legend
+                + String.format("Time: %.2fs (%d games)", seconds, gamesPerPair * names.length * (names.length - 1) / 2), false, false);
+    }
+
+    // Tunes the bots' weights by self-play and writes them where the bots load them from
+    private static void optimize(String[] args) {
+        int generations = (args.length > 1) ? Integer.parseInt(args[1]) : 30;
+        int gamesPerCandidate = (args.length > 2) ? Integer.parseInt(args[2]) : 2_000;
+        String path = (args.length > 3) ? args[3] : DEFAULT_WEIGHTS_FILE;
+        long seed = (args.length > 4) ? Long.parseLong(args[4]) : RandomGenerator.getDefault().nextLong();
+
+        WeightOptimizer.Result result = new WeightOptimizer(4, 16, gamesPerCandidate)
+                .run(HeuristicStrategy.DEFAULT, generations, seed, Runtime.getRuntime().availableProcessors());
+        try {
+            result.getStrategy().save(Path.of(path), String.format(
+                    "Tuned by --optimize %d %d with seed %d: won %.1f%% against default bots, the default bot won %.1f%%",
+                    generations, gamesPerCandidate, seed, 100 * result.getWinRate(), 100 * result.getDefaultWinRate()));
+        } catch (IOException e) {
+            System.err.println("Could not write the weights: " + e.getMessage());
+            return;
+        }
+        Utility.Console.writeTUIBox(result + "Saved the weights to;" + path, false, false);
+    }
+
+    // Loads the bots' weights from the given file, or from the default file if none is given and it exists
+    private static Strategy loadBotStrategy(String path) throws IOException {
+        Path file = Path.of((path != null) ? path : DEFAULT_WEIGHTS_FILE);
+        if (path == null && !Files.exists(file)) {
+            return HeuristicStrategy.DEFAULT;
+        }
+        return HeuristicStrategy.load(file);
+    }
+
+    // Serves games over the network until the process is stopped
+    private static void serve(String[] args) {
+        int port = (args.length > 1) ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+        int numBots = (args.length > 2) ? Integer.parseInt(args[2]) : 3;
+        Strategy botStrategy;
+        try {
+            botStrategy = loadBotStrategy((args.length > 3) ? args[3] : null);
+        } catch (IOException e) {
+            System.err.println("Could not read the weights: " + e.getMessage());
+            return;
+        }
+        try (GameServer server = new GameServer(port, numBots, botStrategy)) {
+            System.out.println("Serving games with " + numBots + " bots playing " + botStrategy + " on port " + server.getPort());
+            System.out.println("Metrics are available over JMX as " + server.getMetrics().register("server"));
+            server.serve();
+        } catch (IOException | javax.management.JMException e) {
+            System.err.println("Could not start the server: " + e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
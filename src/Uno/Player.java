@@ -1,28 +1,56 @@
 package Uno;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
+/**
+ * A seat at a table, holding a hand of cards. A player is either a human, who is asked
+ * for their moves through the console, or a bot, whose moves are chosen by a {@link Strategy}.
+ */
 public class Player {
+    private final Game game;
     private final Hand hand;
     private final String username;
-    private final boolean bot;
+    private final Strategy strategy; // null for a human
     private Card latestPlayedCard;
+    private Card.Colors latestPlayedColor;
     private boolean lastActionWasDraw;
 
+    /**
+     * Constructs a new bot Player object with a specified username, whose moves are
+     * chosen by the given strategy.
+     * The username will automatically strip all characters except alphanumeric,
+     * space, and underscore to ensure validity.
+     *
+     * @param game the table the player is seated at
+     * @param username the username of the player
+     * @param strategy the strategy that chooses the player's moves, or null for a human player
+     */
+    public Player(Game game, String username, Strategy strategy) {
+        this(game, username.replaceAll("[^a-zA-Z0-9 _]",""), strategy, 7);
+    }
+
+    // Shared by all constructors, with the username already stripped.
+    // A player restored from a snapshot starts with an empty hand.
+    private Player(Game game, String username, Strategy strategy, int numStartingCards) {
+        this.game = game;
+        this.strategy = strategy;
+        hand = new Hand(game, numStartingCards);
+        this.username = username;
+    }
+
     /**
      * Constructs a new Player object with a specified username and bot status.
+     * Bots play with the default {@link HeuristicStrategy}.
      * The username will automatically strip all characters except alphanumeric,
      * space, and underscore to ensure validity.
      *
+     * @param game the table the player is seated at
      * @param username the username of the player
      * @param isBot a boolean flag indicating whether the player is a bot
      */
-    public Player(String username, boolean isBot) {
-        this.bot = isBot;
-        hand = new Hand();
-        this.username = username.replaceAll("[^a-zA-Z0-9 _]","");
+    public Player(Game game, String username, boolean isBot) {
+        this(game, username, isBot ? HeuristicStrategy.DEFAULT : null);
     }
 
     /**
@@ -30,12 +58,11 @@ public class Player {
      * The username will automatically strip all characters except alphanumeric, space,
      * and underscore to ensure validity. By default, the created player is not a bot.
      *
+     * @param game the table the player is seated at
      * @param username the username of the player
      */
-    public Player(String username) {
-        hand = new Hand();
-        this.username = username.replaceAll("[^a-zA-Z0-9 _]","");
-        this.bot = false; // default human
+    public Player(Game game, String username) {
+        this(game, username, (Strategy) null); // default human
     }
 
     /**
@@ -62,6 +89,7 @@ public class Player {
      * The method determines if the player is playing a card, drawing a card,
      * or providing an invalid input. If the player plays a card, it is moved
      * to the discard pile, and any special actions related to the card are executed.
+     * If a human player plays a wild card, they are asked which color they want.
      * If the player draws a card, it is added to their hand. The game state
      * advances to the next player's turn afterward.
      *
@@ -72,26 +100,62 @@ public class Player {
      * @throws Error if the provided index is invalid (e.g., out of bounds).
      */
     public void action(int cardHandIndex) {
+        Card.Colors wildColor = null;
+        if (strategy == null && cardHandIndex >= 0 && cardHandIndex < hand.numCardsInHand()
+                && hand.getCardFromHand(cardHandIndex, false).isWild()) {
+            wildColor = Utility.Console.askForWildColor();
+        }
+        action(cardHandIndex, wildColor);
+    }
+
+    /**
+     * Executes an action for the player based on the card index provided, using the
+     * given color if the card played is wild. This behaves like {@link #action(int)},
+     * but never asks for input, so it can be used by bots and other non-console callers.
+     *
+     * @param cardHandIndex the index of the card in the player's hand to play, or
+     *                      the size of the hand for drawing a card
+     * @param wildColor     the color to choose if the played card is wild
+     * @throws Error if the provided index is invalid (e.g., out of bounds).
+     */
+    public void action(int cardHandIndex, Card.Colors wildColor) {
+        FlightEvents.TurnEvent event = new FlightEvents.TurnEvent();
+        event.begin();
+        int seat = game.getCurrentPlayer();
+        int cardId = -1;
         if (cardHandIndex >= 0 && cardHandIndex < hand.numCardsInHand() ) {
             Card card = hand.getCardFromHand(cardHandIndex, true);
-            if (card.getCardNum() >= 13 && !bot) {
-                card.setWildColor(Utility.Console.askForWildColor());
-            }
-            Game.discardPile.addCardToPile(card);
+            cardId = card.getId();
+            game.discard(card, cardHandIndex, wildColor);
             specialCardAction(card);
             latestPlayedCard = card;
+            latestPlayedColor = game.getActiveColor();
             lastActionWasDraw = false;
             if (hand.numCardsInHand() == 0) {
-                Game.endGame();
+                game.endGame();
             }
         } else if (cardHandIndex == hand.numCardsInHand()) {
-            hand.addCard(Game.drawPile.getTopCard(true));
+            game.dealCards(hand, 1);
             latestPlayedCard = null;
             lastActionWasDraw = true;
         } else {
             throw new Error("You typed an invalid value!" + cardHandIndex);
         }
-        Game.advancePlayer();
+        game.advancePlayer();
+        finishTurn(event, seat, cardId);
+    }
+
+    // Reports a finished move to the table's metrics and the flight recorder, whether a
+    // card was played or drawn, and whether a human or a bot moved
+    private void finishTurn(FlightEvents.TurnEvent event, int seat, int cardId) {
+        game.recordTurn(hand.numCardsInHand());
+        if (event.shouldCommit()) {
+            event.tableId = game.getTableId();
+            event.player = seat;
+            event.cardId = cardId;
+            event.cardsLeft = hand.numCardsInHand();
+            event.commit();
+        }
     }
 
     /**
@@ -115,6 +179,8 @@ public class Player {
      * - If a card is played, it is moved to the discard pile, and any related
      *   special actions are executed.
      * - If a card is drawn, it is added to the player's hand.
+     * - If a card is played and one card is left, the player is asked to say "Uno", and
+     *   draws a penalty card if they don't. The penalty card is not a turn of its own.
      * <p>
      * This method ensures that the game state progresses to the next player's turn
      * after the current player completes their action.
@@ -123,25 +189,24 @@ public class Player {
      * which includes indices of playable cards and a special index for drawing a card.
      */
     public void queryUserAction() {
+        GameMetrics metrics = game.getMetrics();
+        long start = (metrics != null) ? System.nanoTime() : 0;
         int numCards = hand.numCardsInHand();
 
-        Utility.Console.writeTUIBox(
-                "Current Card: " + Game.discardPile.getTopCard(false).getColoredCardText(true) + ";" +
-                        "Number Cards in Hand: " + numCards + ";" +
-                        "-".repeat(Utility.Console.getBoxWidth() + 2) + ";" +
-                        hand,
-                false, false);
-        action(Utility.Console.getNumericalInput(1, numCards + 1, hand.getPlayableCards(), -1, (hand.getPlayableCards().isEmpty())) - 1);
+        Utility.Console.getView().showTurn(game, this);
+        action(Utility.Console.getNumericalInput(hand) - 1);
         numCards = hand.numCardsInHand();
         if (numCards == 1) {
-            Utility.Console.writeTUIBox("Is there anything you would like to say?", false, false);
+            Utility.Console.getView().showMessage("Is there anything you would like to say?");
             if (Utility.Console.getStringInput().toLowerCase().contains("uno")) {
-                Utility.Console.writeTUIBox("Good Job :)", false, false);
+                Utility.Console.getView().showMessage("Good Job :)");
             } else {
-                Utility.Console.writeTUIBox("You didn't say 'Uno'!; Take a card :(", false, false);
-                action(numCards);
+                Utility.Console.getView().showMessage("You didn't say 'Uno'!; Take a card :(");
+                // The penalty card is not a turn: the card was already played and the turn has moved on
+                game.dealCards(hand, 1);
             }
         }
+        if (metrics != null) metrics.recordHumanTurn(System.nanoTime() - start);
     }
 
     /**
@@ -154,10 +219,10 @@ public class Player {
     private void specialCardAction(Card card) {
         int cardNum = card.getCardNum();
         switch (cardNum) {
-            case 10 -> Game.addCardsToNextPlayer(false);
-            case 11 -> Game.flipFlowDirection();
-            case 12 -> Game.skipPlayer();
-            case 14 -> Game.addCardsToNextPlayer(true);
+            case 10 -> game.addCardsToNextPlayer(false);
+            case 11 -> game.flipFlowDirection();
+            case 12 -> game.skipPlayer();
+            case 14 -> game.addCardsToNextPlayer(true);
         }
     }
 
@@ -165,21 +230,13 @@ public class Player {
 
     /**
      * Executes the bot's move during its turn in the game.
-     * The method determines the optimal action for the bot based on card scores,
-     * either playing the best available card or drawing a new card from the draw pile.
-     * <p>
-     * If there are card(s) in the bot's hand that can be played, the card with the
-     * highest score is selected. If the selected card is a wild card, its color
-     * is set to the most frequent color in the bot's hand before playing it.
-     * If no playable cards are available, the bot draws a card instead.
+     * The bot's strategy chooses either the card to play or to draw a new card from the draw pile.
      * <p>
-     * Logic:
-     * 1. Calculate the scores for each card in the bot's hand.
-     * 2. Identify the card with the highest score.
-     * 3. If no playable cards are found (the best score is 0), draw a card from the
-     *    draw pile and end the turn.
-     * 4. If the best card is a wild card, set its color to maximize strategic advantage.
-     * 5. Play the card with the highest score.
+     * If the strategy chooses a card and it is a wild card, the strategy also chooses
+     * its color. If the strategy chooses to draw, the bot draws a card instead, and it
+     * stays the bot's turn. If there is no card left to draw, because every other card is
+     * in a hand, the bot passes and the turn moves on, so a bot with nothing to play
+     * cannot keep choosing to draw forever.
      * <p>
      * Updates:
      * - Modifies the bot's hand by either adding a card (in case of drawing)
@@ -188,77 +245,139 @@ public class Player {
      * - Updates the `lastActionWasDraw` field to reflect whether the bot's last action was drawing a card.
      */
     public void makeBotMove() {
-        if (!bot) return;
-        List<Integer> scores = calculateCardScores();
-
-        int bestScore = 0;
-
-        for (int score : scores) {
-            if (score > bestScore) bestScore = score;
+        if (strategy == null) return;
+        boolean timed = game.shouldTimeBotDecision();
+        long start = timed ? System.nanoTime() : 0;
+        FlightEvents.BotDecisionEvent event = new FlightEvents.BotDecisionEvent();
+        event.begin();
+        int move = chooseBotMove();
+        event.end();
+        if (timed) game.getMetrics().recordBotDecision(System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.tableId = game.getTableId();
+            event.player = game.getCurrentPlayer();
+            event.strategy = strategy.getClass().getSimpleName();
+            event.handSize = hand.numCardsInHand();
+            event.cardId = (move < hand.numCardsInHand()) ? hand.getCardFromHand(move, false).getId() : -1;
+            event.commit();
         }
 
-        if (bestScore == 0) {
-            hand.addCard(Game.drawPile.getTopCard(true));
+        if (move == hand.numCardsInHand()) {
+            FlightEvents.TurnEvent turn = new FlightEvents.TurnEvent();
+            turn.begin();
+            int seat = game.getCurrentPlayer();
+            int drawn = game.dealCards(hand, 1);
             lastActionWasDraw = true;
             latestPlayedCard = null;
+            if (drawn == 0) game.advancePlayer();
+            finishTurn(turn, seat, -1);
             return;
         }
 
-        if (hand.getCardFromHand(scores.indexOf(bestScore), false).getCardNum() >= 13) {
-            hand.getCardFromHand(scores.indexOf(bestScore), false).setWildColor(hand.getColorThatTheMostCardsUse());
+        Card.Colors wildColor = null;
+        if (hand.getCardFromHand(move, false).isWild()) {
+            wildColor = chooseBotWildColor();
         }
 
-        action(scores.indexOf(bestScore));
+        action(move, wildColor);
     }
 
     /**
-     * Calculates the scores of cards in the player's hand to determine their playability.
-     * The scoring mechanism varies based on whether the player is a bot or not.
+     * Asks the bot's strategy which card to play, without playing it.
      * <p>
-     * If the player is a bot, it computes the scores based on the bot's playable cards
-     * and the current card on the deck. If the player is not a bot, a default score of 0
-     * is assigned to all cards in the hand.
+     * The default strategy is called directly rather than through the interface, so this
+     * call stays cheap and inlinable however many other strategies have passed through it.
+     *
+     * @return the index of the card to play, or the size of the hand to draw a card
+     */
+    public int chooseBotMove() {
+        if (strategy instanceof HeuristicStrategy heuristic) return heuristic.chooseMove(game, hand);
+        return strategy.chooseMove(game, hand);
+    }
+
+    // Same as chooseBotMove, for the color of a wild card
+    private Card.Colors chooseBotWildColor() {
+        if (strategy instanceof HeuristicStrategy heuristic) return heuristic.chooseWildColor(game, hand);
+        return strategy.chooseWildColor(game, hand);
+    }
+
+    /**
+     * Writes everything about this player into a snapshot: whether it is a bot, its
+     * username, its hand and its latest action. The strategy itself is not written.
      *
-     * @return a list of integers representing the scores for each card in the player's hand.
-     *         For a bot, the scores reflect playability and game logic.
-     *         For a non-bot player, the scores are all set to 0.
+     * @param buffer the buffer to write to
      */
-    public List<Integer> calculateCardScores() {
-        if (bot) {
-            Card currentCardOnDeck = Game.discardPile.getTopCard(false);
-            List<Integer> playableCards = hand.getPlayableCards();
-            return getScores(playableCards, currentCardOnDeck);
+    void writeSnapshot(ByteBuffer buffer) {
+        // Usernames are stripped down to ASCII characters, so every character fits in a byte
+        buffer.put((byte) (isBot() ? 1 : 0));
+        buffer.putShort((short) username.length());
+        for (int i = 0; i < username.length(); i++) {
+            buffer.put((byte) username.charAt(i));
         }
-        return new ArrayList<>(Collections.nCopies(hand.getHand().size(), 0));
+        hand.writeSnapshot(buffer);
+        buffer.put((byte) ((latestPlayedCard != null) ? latestPlayedCard.getId() : -1));
+        buffer.put((byte) ((latestPlayedColor != null) ? latestPlayedColor.ordinal() : -1));
+        buffer.put((byte) (lastActionWasDraw ? 1 : 0));
     }
 
     /**
-     * Calculates the scores of playable cards in the player's hand based on game rules and
-     * the current card on the deck.
+     * Creates a player from the snapshot written by {@link #writeSnapshot(ByteBuffer)}.
      *
-     * @param playableCards a list of integers representing the indices of cards in the player's
-     *                      hand that are playable, according to the game rules.
-     * @param currentCardOnDeck the card currently on the top of the deck, used to compare
-     *                          properties and calculate scores.
-     * @return a list of integers representing the calculated scores for each card in the
-     *         player's hand. Scores are ordered according to the indices of the cards in the hand.
+     * @param game        the table the player is seated at
+     * @param buffer      the buffer to read from
+     * @param botStrategy the strategy to play with if the player was a bot
+     * @return the restored player
      */
-    private List<Integer> getScores(List<Integer> playableCards, Card currentCardOnDeck) {
-        List<Integer> scores = new ArrayList<>(Collections.nCopies(hand.getHand().size(), 0));
+    static Player restoreSnapshot(Game game, ByteBuffer buffer, Strategy botStrategy) {
+        boolean isBot = buffer.get() != 0;
+        byte[] name = new byte[buffer.getShort()];
+        buffer.get(name);
 
-        for (int index : playableCards) {
-            int cardNum = hand.getHand().get(index).getCardNum();
-            Card.Colors cardColor = hand.getHand().get(index).getCardColor();
+        Player player = new Player(game, new String(name, StandardCharsets.US_ASCII), isBot ? botStrategy : null, 0);
+        player.hand.readSnapshot(buffer);
+        byte cardId = buffer.get();
+        byte color = buffer.get();
+        player.latestPlayedCard = (cardId >= 0) ? Card.fromId(cardId) : null;
+        player.latestPlayedColor = (color >= 0) ? Card.Colors.values()[color] : null;
+        player.lastActionWasDraw = buffer.get() != 0;
+        return player;
+    }
 
-            int score = 5;
-            score += (cardNum > 9) ? 20 : 10;
-            score += (cardNum >= 13) ? -10 : 5;
-            score += (cardColor == currentCardOnDeck.getCardColor()) ? 8 : 0;
-            score += (cardNum == currentCardOnDeck.getCardNum()) ? 6 : 0;
+    /**
+     * Retrieves the number of bytes {@link #writeSnapshot(ByteBuffer)} writes for this player.
+     *
+     * @return the size of the player's snapshot
+     */
+    int getSnapshotSize() {
+        return 7 + username.length() + hand.numCardsInHand();
+    }
 
-            scores.set(index, score);
-        }
-        return scores;
+    /**
+     * Determines whether the player's most recent action was drawing a card
+     * rather than playing one.
+     *
+     * @return true if the player drew a card on their latest action; false otherwise.
+     */
+    public boolean lastActionWasDraw() {
+        return lastActionWasDraw;
+    }
+
+    /**
+     * Determines whether this player is controlled by the computer.
+     *
+     * @return true if the player is a bot; false if it is a human.
+     */
+    public boolean isBot() {
+        return strategy != null;
+    }
+
+    /**
+     * Retrieves the strategy that chooses this player's moves.
+     *
+     * @return the player's strategy, or null if the player is a human.
+     */
+    public Strategy getStrategy() {
+        return strategy;
     }
 
     /**
@@ -274,6 +393,6 @@ public class Player {
      */
     public String getLatestPlayedCard() {
         if (lastActionWasDraw) return "drew a card";
-        return (latestPlayedCard != null) ? latestPlayedCard.getColoredCardText(true) : "No card played yet";
+        return (latestPlayedCard != null) ? latestPlayedCard.getColoredCardText(latestPlayedColor) : "No card played yet";
     }
 }
@@ -0,0 +1,65 @@
+package Uno;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Passes on the answers of another input source while writing every one of them down,
+ * so the session can be played again later with {@link ScriptedInput}.
+ */
+public class RecordingInput implements InputSource {
+    private final InputSource source;
+    private final List<String> answers = new ArrayList<>();
+
+    /**
+     * Creates an input source that records the answers of the given one.
+     *
+     * @param source the input source the answers come from
+     */
+    public RecordingInput(InputSource source) {
+        this.source = source;
+    }
+
+    @Override
+    public int readNumber() {
+        int answer = source.readNumber();
+        answers.add(Integer.toString(answer));
+        return answer;
+    }
+
+    @Override
+    public String readLine() {
+        String answer = source.readLine();
+        answers.add(answer);
+        return answer;
+    }
+
+    @Override
+    public void startGame(Game game, Player player) {
+        source.startGame(game, player);
+    }
+
+    /**
+     * Retrieves every answer given so far, in order.
+     *
+     * @return the answers, which can be given to {@link ScriptedInput#ScriptedInput(java.util.Collection)}
+     */
+    public List<String> getAnswers() {
+        return Collections.unmodifiableList(answers);
+    }
+
+    /**
+     * Writes every answer given so far to a file, one per line.
+     *
+     * @param script the file to write, which can be read with {@link ScriptedInput#fromFile(Path)}
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Path script) throws IOException {
+        Files.write(script, answers, StandardCharsets.UTF_8);
+    }
+}
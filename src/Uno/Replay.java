@@ -0,0 +1,354 @@
+package Uno;
+
+import java.util.Arrays;
+
+/**
+ * Rebuilds the state of a recorded game from a {@link GameRecorder} log.
+ * <p>
+ * A replay applies the log one event at a time to a compact copy of the table:
+ * every hand in the order its cards were received, the discard pile, how many
+ * of each card are left in the draw pile, whose turn it is, the flow direction
+ * and the active color. It never makes a decision or draws a random number, so
+ * it moves through a game far faster than the game was played, and it can stop
+ * after any event to show the table exactly as it was at that moment.
+ * <p>
+ * The draw pile is shuffled lazily, so its order only exists once cards are drawn;
+ * a replay knows which cards it holds, but not in which order.
+ */
+public class Replay {
+    private final byte[] log;
+    private int position = 0;
+
+    private final int numPlayers;
+    private int currentPlayer;
+    private int flowDirection;
+    private Card.Colors activeColor;
+    private int winningPlayer = -1;
+
+    private final byte[][] hands;
+    private final int[] handSizes;
+    private byte[] discardPile = new byte[Deck.DECK_SIZE];
+    private int discardPileSize;
+    private final int[] drawPileCounts = new int[Card.NUM_IDS];
+    private int drawPileSize;
+
+    private int numEvents = 0;
+    private int lastEventType = -1;
+    private int reshuffleCount = 0;
+
+    /**
+     * Creates a replay of the given log, positioned at the state of the table when recording started.
+     *
+     * @param log the bytes written by a {@link GameRecorder}
+     * @throws Error if the log was written in an unknown format
+     */
+    public Replay(byte[] log) {
+        this.log = log;
+        if (readVarInt() != GameRecorder.FORMAT_VERSION) {
+            throw new Error("Something terrible has occurred. (The game log has an unknown format)");
+        }
+        numPlayers = readVarInt();
+        currentPlayer = readVarInt();
+        flowDirection = (readVarInt() == 0) ? 1 : -1;
+        activeColor = Card.Colors.values()[readVarInt()];
+
+        // Every card starts in the draw pile, until it is found on the discard pile or in a hand
+        for (int id = 0; id < Card.NUM_IDS; id++) {
+            drawPileCounts[id] = Deck.getCopiesPerDeck(Card.fromId(id));
+        }
+        drawPileSize = Deck.DECK_SIZE;
+
+        discardPileSize = readVarInt();
+        for (int i = 0; i < discardPileSize; i++) {
+            discardPile[i] = (byte) readVarInt();
+            takeFromDrawPile(discardPile[i]);
+        }
+        hands = new byte[numPlayers][];
+        handSizes = new int[numPlayers];
+        for (int seat = 0; seat < numPlayers; seat++) {
+            handSizes[seat] = readVarInt();
+            hands[seat] = new byte[Math.max(16, handSizes[seat])];
+            for (int i = 0; i < handSizes[seat]; i++) {
+                hands[seat][i] = (byte) readVarInt();
+                takeFromDrawPile(hands[seat][i]);
+            }
+        }
+    }
+
+    /**
+     * Applies the next event of the log.
+     *
+     * @return true if an event was applied, false if the end of the log was reached
+     * @throws Error if the log is inconsistent with the state it describes
+     */
+    public boolean step() {
+        if (position >= log.length) return false;
+        int header = readVarInt();
+        int type = header & ((1 << GameRecorder.TYPE_BITS) - 1);
+        int seat = header >>> GameRecorder.TYPE_BITS;
+
+        switch (type) {
+            case GameRecorder.DEAL -> {
+                int id = readVarInt();
+                takeFromDrawPile(id);
+                if (handSizes[seat] == hands[seat].length) {
+                    hands[seat] = Arrays.copyOf(hands[seat], hands[seat].length * 2);
+                }
+                hands[seat][handSizes[seat]++] = (byte) id;
+            }
+            case GameRecorder.PLAY -> {
+                int id = readVarInt();
+                removeFromHand(seat, id, readVarInt());
+                if (discardPileSize == discardPile.length) {
+                    discardPile = Arrays.copyOf(discardPile, discardPile.length * 2);
+                }
+                discardPile[discardPileSize++] = (byte) id;
+                activeColor = Card.fromId(id).getCardColor();
+            }
+            case GameRecorder.WILD_COLOR -> activeColor = Card.Colors.values()[readVarInt()];
+            case GameRecorder.DRAW_TWO, GameRecorder.DRAW_FOUR -> { }
+            case GameRecorder.REVERSE -> flowDirection = -flowDirection;
+            // The same arithmetic as Game.skipPlayer and Game.advancePlayer
+            case GameRecorder.SKIP, GameRecorder.ADVANCE ->
+                    currentPlayer = (currentPlayer + flowDirection + numPlayers) % numPlayers;
+            case GameRecorder.RESHUFFLE -> {
+                int moved = readVarInt();
+                if (moved != discardPileSize - 1) {
+                    throw new Error("Something terrible has occurred. (The game log reshuffles cards that are not on the discard pile)");
+                }
+                for (int i = 0; i < moved; i++) {
+                    drawPileCounts[discardPile[i]]++;
+                }
+                drawPileSize += moved;
+                discardPile[0] = discardPile[moved];
+                discardPileSize = 1;
+                reshuffleCount++;
+            }
+            case GameRecorder.GAME_OVER -> winningPlayer = seat;
+            default -> throw new Error("Something terrible has occurred. (The game log contains an unknown event)");
+        }
+        numEvents++;
+        lastEventType = type;
+        return true;
+    }
+
+    /**
+     * Applies events until the given number of events has been applied or the log ends.
+     *
+     * @param numEvents the number of events, counted from the start of the log, to stop after
+     * @return the number of events applied in total
+     */
+    public int advanceTo(int numEvents) {
+        while (this.numEvents < numEvents && step()) {
+            // Keep applying events
+        }
+        return this.numEvents;
+    }
+
+    /**
+     * Applies every remaining event of the log.
+     *
+     * @return the number of events applied in total
+     */
+    public int playToEnd() {
+        return advanceTo(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Checks whether the replayed state is the same as the state of a live table:
+     * the same hands in the same order, the same discard pile and draw pile size,
+     * and the same turn, direction, active color and winner.
+     *
+     * @param game the table to compare with
+     * @return true if every part of the state matches
+     */
+    public boolean matches(Game game) {
+        if (game.getNumPlayers() != numPlayers || game.getCurrentPlayer() != currentPlayer
+                || game.getFlowDirection() != flowDirection || game.getActiveColor() != activeColor
+                || game.isGameOver() != isGameOver() || (isGameOver() && game.getWinningPlayer() != winningPlayer)
+                || game.getDrawPile().size() != drawPileSize || game.getDiscardPile().size() != discardPileSize) {
+            return false;
+        }
+        for (int i = 0; i < discardPileSize; i++) {
+            if (game.getDiscardPile().getCardId(i) != discardPile[i]) return false;
+        }
+        for (int seat = 0; seat < numPlayers; seat++) {
+            Hand hand = game.getPlayer(seat).getHand();
+            if (hand.numCardsInHand() != handSizes[seat]) return false;
+            for (int i = 0; i < handSizes[seat]; i++) {
+                if (hand.getCardFromHand(i, false).getId() != hands[seat][i]) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the number of events applied so far.
+     *
+     * @return the number of events
+     */
+    public int getNumEvents() {
+        return numEvents;
+    }
+
+    /**
+     * Retrieves the type of the event applied last, one of the event types of {@link GameRecorder}.
+     *
+     * @return the type of the last event, or -1 if no event has been applied yet
+     */
+    public int getLastEventType() {
+        return lastEventType;
+    }
+
+    /**
+     * Retrieves the number of seats at the replayed table.
+     *
+     * @return the number of players
+     */
+    public int getNumPlayers() {
+        return numPlayers;
+    }
+
+    /**
+     * Retrieves the seat whose turn it is.
+     *
+     * @return the index of the current player
+     */
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Retrieves the direction in which turns pass around the table.
+     *
+     * @return 1 if play moves to higher seat indices, -1 if it moves to lower ones
+     */
+    public int getFlowDirection() {
+        return flowDirection;
+    }
+
+    /**
+     * Retrieves the color that must be matched by the next card played.
+     *
+     * @return the active color
+     */
+    public Card.Colors getActiveColor() {
+        return activeColor;
+    }
+
+    /**
+     * Retrieves the card on top of the discard pile.
+     *
+     * @return the top card
+     */
+    public Card getTopCard() {
+        return Card.fromId(discardPile[discardPileSize - 1]);
+    }
+
+    /**
+     * Retrieves the number of cards on the discard pile.
+     *
+     * @return the size of the discard pile
+     */
+    public int getDiscardPileSize() {
+        return discardPileSize;
+    }
+
+    /**
+     * Retrieves the number of cards left in the draw pile.
+     *
+     * @return the size of the draw pile
+     */
+    public int getDrawPileSize() {
+        return drawPileSize;
+    }
+
+    /**
+     * Retrieves how many copies of a card are left in the draw pile.
+     *
+     * @param card the card to count
+     * @return the number of copies in the draw pile
+     */
+    public int getDrawPileCount(Card card) {
+        return drawPileCounts[card.getId()];
+    }
+
+    /**
+     * Retrieves the number of cards in a seat's hand.
+     *
+     * @param seat the seat index
+     * @return the number of cards in that hand
+     */
+    public int getHandSize(int seat) {
+        return handSizes[seat];
+    }
+
+    /**
+     * Retrieves a card from a seat's hand, in the same order as {@link Hand#getCardFromHand(int, boolean)}.
+     *
+     * @param seat  the seat index
+     * @param index the position of the card in the hand
+     * @return the card at that position
+     */
+    public Card getHandCard(int seat, int index) {
+        return Card.fromId(hands[seat][index]);
+    }
+
+    /**
+     * Retrieves the number of times the discard pile was shuffled back into the draw pile.
+     *
+     * @return the number of reshuffles
+     */
+    public int getReshuffleCount() {
+        return reshuffleCount;
+    }
+
+    /**
+     * Determines whether the replayed game has been won.
+     *
+     * @return true if a player has emptied their hand
+     */
+    public boolean isGameOver() {
+        return winningPlayer >= 0;
+    }
+
+    /**
+     * Retrieves the seat that won the game.
+     *
+     * @return the index of the winning player, or -1 if the game is not over
+     */
+    public int getWinningPlayer() {
+        return winningPlayer;
+    }
+
+    private void takeFromDrawPile(int id) {
+        if (drawPileCounts[id] == 0) {
+            throw new Error("Something terrible has occurred. (The game log deals a card that is not in the draw pile)");
+        }
+        drawPileCounts[id]--;
+        drawPileSize--;
+    }
+
+    // Removes the card from the position it was played from, which leaves the hand in the
+    // same order as the ArrayList in Hand even when a later copy of a duplicate was played
+    private void removeFromHand(int seat, int id, int index) {
+        byte[] hand = hands[seat];
+        if (index >= handSizes[seat] || hand[index] != id) {
+            throw new Error("Something terrible has occurred. (The game log plays a card that is not in the hand)");
+        }
+        System.arraycopy(hand, index + 1, hand, index, handSizes[seat] - index - 1);
+        handSizes[seat]--;
+    }
+
+    private int readVarInt() {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = log[position++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
@@ -0,0 +1,309 @@
+package Uno;
+
+import java.util.Arrays;
+
+/**
+ * A view that keeps the whole game on one fixed screen and redraws only what changed.
+ * <p>
+ * The screen is a grid of cells, each holding a character and its color. Every update
+ * draws the complete layout into the grid: the card on top of the discard pile, every
+ * opponent with their number of cards and latest play, the current message and the
+ * human's hand. It then compares the grid with what the terminal is already showing and
+ * writes only the cells that differ, moving the cursor to them with ANSI escape codes.
+ * A bot playing a card changes a few dozen cells, so a frame is usually a small
+ * fraction of the size of the boxes {@link BoxView} prints.
+ * <p>
+ * The cursor is left just below the screen after every frame, where the console prompts
+ * for input, and whatever was typed there is cleared by the next frame. This view needs
+ * a console that understands ANSI escape codes.
+ */
+public class ScreenView implements GameView {
+    private static final int WIDTH = 60;
+    private static final int MAX_ROWS = 64;
+    private static final int MESSAGE_ROWS = 5;
+    private static final int HAND_COLUMNS = 2;
+    private static final int HAND_COLUMN_WIDTH = (WIDTH - 4) / HAND_COLUMNS;
+
+    /**
+     * A run of unchanged cells at most this long between two changed cells on the same
+     * row is simply written again, which is shorter than moving the cursor past it.
+     */
+    private static final int MAX_REWRITTEN_GAP = 6;
+
+    // Marks a cell whose contents on the terminal are unknown, so it is always written
+    private static final char UNKNOWN = '\0';
+
+    // The color codes cells can have, indexed by style, where 0 is the default color
+    private static final String[] STYLE_CODES = {
+            Utility.Console.Colors.RESET, Utility.Console.Colors.RED, Utility.Console.Colors.YELLOW,
+            Utility.Console.Colors.GREEN, Utility.Console.Colors.BLUE
+    };
+
+    // The frame being drawn
+    private final char[] cells = new char[MAX_ROWS * WIDTH];
+    private final byte[] styles = new byte[MAX_ROWS * WIDTH];
+    private int height = 0;
+
+    // What the terminal is showing
+    private final char[] shownCells = new char[MAX_ROWS * WIDTH];
+    private final byte[] shownStyles = new byte[MAX_ROWS * WIDTH];
+    private int shownHeight = 0;
+    private boolean isScreenCleared = false;
+    private boolean mayHaveInput = false; // Whether the human may have typed below the screen since the last frame
+
+    private final StringBuilder out = new StringBuilder(4 * 1024);
+    private long charsWritten = 0;
+
+    private Game game;
+    private Player player;
+    private String message = "";
+
+    public ScreenView() {
+        Arrays.fill(shownCells, UNKNOWN);
+    }
+
+    @Override
+    public void showTurn(Game game, Player player) {
+        this.game = game;
+        this.player = player;
+        message = "Your turn! Choose a card.";
+        render();
+        mayHaveInput = true;
+    }
+
+    @Override
+    public void showBotMove(Game game, Player bot) {
+        // The bot's row already shows its latest play and how many cards it has left
+        this.game = game;
+        render();
+    }
+
+    @Override
+    public void showMessage(String text) {
+        message = text;
+        render();
+        mayHaveInput = true;
+    }
+
+    /**
+     * Retrieves the number of characters written to the console so far, escape codes included.
+     *
+     * @return the number of characters written
+     */
+    public long getCharsWritten() {
+        return charsWritten;
+    }
+
+    // Draws the layout into the grid and writes the difference to the console
+    private void render() {
+        height = 0;
+        drawBorder('┌', '┐');
+        if (game != null) {
+            if (player == null) player = findHuman();
+            drawTable();
+            drawBorder('├', '┤');
+        }
+        int start = 0;
+        for (int line = 0; line < MESSAGE_ROWS; line++) {
+            int end = message.indexOf(';', start);
+            if (end < 0) end = message.length();
+            drawLine(message, Math.min(start, end), end);
+            start = end + 1;
+        }
+        if (game != null) {
+            drawBorder('├', '┤');
+            drawHand();
+        }
+        drawBorder('└', '┘');
+        writeChanges();
+    }
+
+    // The first seat without a strategy, or seat 0 if every seat is a bot
+    private Player findHuman() {
+        for (int i = 0; i < game.getNumPlayers(); i++) {
+            if (!game.getPlayer(i).isBot()) return game.getPlayer(i);
+        }
+        return game.getPlayer(0);
+    }
+
+    private void drawTable() {
+        int row = startLine();
+        int col = putText(row, 2, "Current Card: ");
+        putText(row, col, game.getDiscardPile().getTopCard(false).getColoredCardText(game.getActiveColor()));
+        putText(row, WIDTH - 18, "Draw Pile: " + game.getDrawPile().size());
+
+        row = startLine();
+        putText(row, 2, "Turn: " + game.getPlayer(game.getCurrentPlayer()).getUsername());
+        putText(row, WIDTH - 18, "Direction: " + ((game.getFlowDirection() == 1) ? "->" : "<-"));
+
+        drawBorder('├', '┤');
+        for (int i = 0; i < game.getNumPlayers(); i++) {
+            Player other = game.getPlayer(i);
+            if (other == player) continue;
+            row = startLine();
+            putText(row, 2, other.getUsername());
+            int numCards = other.getHand().numCardsInHand();
+            putText(row, 18, numCards + " card(s)" + ((numCards == 1) ? " Uno!" : ""));
+            col = putText(row, 34, "Last: ");
+            putText(row, col, other.getLatestPlayedCard());
+        }
+    }
+
+    // Lays the hand out in columns, numbered like Hand.toString
+    private void drawHand() {
+        Hand hand = player.getHand();
+        long playable = hand.getPlayableCardIds();
+        int row = 0;
+        for (int i = 0; i < hand.numCardsInHand(); i++) {
+            if (i % HAND_COLUMNS == 0) row = startLine();
+            if (row < 0) return;
+            Card card = hand.getCardFromHand(i, false);
+            int col = 2 + (i % HAND_COLUMNS) * HAND_COLUMN_WIDTH;
+            col = putText(row, col, ((playable & (1L << card.getId())) != 0) ? (i + 1) + ") " : "-) ");
+            putText(row, col, card.getColoredCardText(null));
+        }
+        if (playable == 0) {
+            row = startLine();
+            if (row >= 0) putText(row, 2, (hand.numCardsInHand() + 1) + ") Take Card from Draw Pile");
+        }
+    }
+
+    // Adds a border row with the given corners
+    private void drawBorder(char left, char right) {
+        if (height >= MAX_ROWS) return;
+        int row = height++;
+        int index = row * WIDTH;
+        cells[index] = left;
+        styles[index] = 0;
+        for (int col = 1; col < WIDTH - 1; col++) {
+            cells[index + col] = '─';
+            styles[index + col] = 0;
+        }
+        cells[index + WIDTH - 1] = right;
+        styles[index + WIDTH - 1] = 0;
+    }
+
+    // Adds an empty row inside the borders and returns its index, or -1 if the screen is full
+    private int startLine() {
+        if (height >= MAX_ROWS - 1) return -1;
+        int row = height++;
+        int index = row * WIDTH;
+        for (int col = 0; col < WIDTH; col++) {
+            cells[index + col] = ' ';
+            styles[index + col] = 0;
+        }
+        cells[index] = '│';
+        cells[index + WIDTH - 1] = '│';
+        return row;
+    }
+
+    private void drawLine(String text, int start, int end) {
+        int row = startLine();
+        if (row >= 0) putText(row, 2, text, start, end);
+    }
+
+    private int putText(int row, int col, String text) {
+        return putText(row, col, text, 0, text.length());
+    }
+
+    /**
+     * Writes text into a row, starting at the given column and stopping at the right border.
+     * ANSI color codes in the text change the color of the cells that follow them.
+     *
+     * @param row   the row to write to, or -1 to write nothing
+     * @param col   the column of the first character
+     * @param text  the text to write
+     * @param start the index of the first character of the text to write
+     * @param end   the index just past the last character of the text to write
+     * @return the column just past the last character written
+     */
+    private int putText(int row, int col, String text, int start, int end) {
+        if (row < 0) return col;
+        byte style = 0;
+        for (int i = start; i < end && col < WIDTH - 2; i++) {
+            char c = text.charAt(i);
+            if (c == '\u001B') {
+                int codeEnd = text.indexOf('m', i);
+                if (codeEnd != -1 && codeEnd < end) {
+                    style = getStyle(text, i, codeEnd + 1);
+                    i = codeEnd;
+                    continue;
+                }
+            }
+            cells[row * WIDTH + col] = c;
+            styles[row * WIDTH + col] = style;
+            col++;
+        }
+        return col;
+    }
+
+    // Finds the style of a color code, treating any code that is not a card color as a reset
+    private static byte getStyle(String text, int start, int end) {
+        for (byte style = 1; style < STYLE_CODES.length; style++) {
+            String code = STYLE_CODES[style];
+            if (code.length() == end - start && text.startsWith(code, start)) return style;
+        }
+        return 0;
+    }
+
+    // Writes every cell that differs from what the terminal shows, then parks the cursor below the screen
+    private void writeChanges() {
+        out.setLength(0);
+        if (!isScreenCleared) {
+            out.append("\u001B[H\u001B[2J");
+            isScreenCleared = true;
+        }
+
+        int cursorRow = -1;
+        int cursorCol = -1;
+        byte style = 0;
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < WIDTH; col++) {
+                int index = row * WIDTH + col;
+                if (cells[index] == shownCells[index] && styles[index] == shownStyles[index]) continue;
+
+                if (row == cursorRow && col > cursorCol && col - cursorCol <= MAX_REWRITTEN_GAP) {
+                    // Rewrite the few unchanged cells in between instead of moving the cursor
+                    for (int gap = cursorCol; gap < col; gap++) {
+                        style = writeCell(row * WIDTH + gap, style);
+                    }
+                } else if (row != cursorRow || col != cursorCol) {
+                    out.append("\u001B[").append(row + 1).append(';').append(col + 1).append('H');
+                }
+                style = writeCell(index, style);
+                cursorRow = row;
+                cursorCol = col + 1;
+            }
+        }
+        if (style != 0) out.append(Utility.Console.Colors.RESET);
+
+        if (mayHaveInput || height < shownHeight) {
+            // Rows below the screen are cleared, along with any input typed there
+            for (int index = height * WIDTH; index < shownCells.length; index++) {
+                shownCells[index] = UNKNOWN;
+            }
+            out.append("\u001B[").append(height + 1).append(";1H\u001B[J");
+        } else if (cursorRow >= 0) {
+            // Park the cursor where the console prompts for input
+            out.append("\u001B[").append(height + 1).append(";1H");
+        }
+        shownHeight = height;
+        mayHaveInput = false;
+        if (out.isEmpty()) return;
+
+        charsWritten += out.length();
+        System.out.print(out);
+        System.out.flush();
+    }
+
+    private byte writeCell(int index, byte style) {
+        if (styles[index] != style) {
+            style = styles[index];
+            out.append(STYLE_CODES[style]);
+        }
+        out.append(cells[index]);
+        shownCells[index] = cells[index];
+        shownStyles[index] = style;
+        return style;
+    }
+}
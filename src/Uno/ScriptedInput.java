@@ -0,0 +1,65 @@
+package Uno;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Queue;
+
+/**
+ * Answers the human's questions from a script, one answer per line, in the order
+ * they are asked. A session written down by {@link RecordingInput} can be played
+ * again this way against an equally seeded {@link Game}, taking the same path through
+ * the human's side of the game without anyone at the console.
+ */
+public class ScriptedInput implements InputSource {
+    private final Queue<String> answers;
+
+    /**
+     * Creates an input source that gives the given answers in order.
+     *
+     * @param answers the answers, one per question
+     */
+    public ScriptedInput(Collection<String> answers) {
+        this.answers = new ArrayDeque<>(answers);
+    }
+
+    /**
+     * Creates an input source that gives the lines of a file as answers, in order.
+     *
+     * @param script the file to read, with one answer per line
+     * @return the scripted input source
+     * @throws IOException if the file cannot be read
+     */
+    public static ScriptedInput fromFile(Path script) throws IOException {
+        return new ScriptedInput(Files.readAllLines(script, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Retrieves the number of answers the script has left.
+     *
+     * @return the number of answers not given yet
+     */
+    public int getNumAnswersLeft() {
+        return answers.size();
+    }
+
+    @Override
+    public int readNumber() {
+        String answer = readLine().trim();
+        try {
+            return Integer.parseInt(answer);
+        } catch (NumberFormatException e) {
+            throw new Error("Something terrible has occurred. (The script gave \"" + answer + "\" where a number was expected)");
+        }
+    }
+
+    @Override
+    public String readLine() {
+        String answer = answers.poll();
+        if (answer == null) throw new Error("Something terrible has occurred. (The script ran out of answers)");
+        return answer;
+    }
+}
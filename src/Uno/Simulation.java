@@ -0,0 +1,361 @@
+package Uno;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Runs large batches of bot-only games without any console input or output.
+ * <p>
+ * Games are split into batches that are spread across all cores with a
+ * work-stealing {@link ForkJoinPool}. Every game is its own {@link Game}
+ * instance, confined to whichever worker thread plays it, so games never
+ * share state. Each batch collects its statistics into its own {@link Result},
+ * and results are only merged when batches join, so the hot path does not
+ * touch any shared counters.
+ * <p>
+ * Every game also has its own random generator, seeded from the run's seed and the
+ * game's index, see {@link #createGameRandom(long)}. No two games share a generator,
+ * so threads never contend for one, and a run with a given seed plays exactly the same
+ * games, with exactly the same results, however many threads it is spread over.
+ */
+public class Simulation {
+    /**
+     * The number of games a single task plays sequentially before it stops
+     * splitting. Large enough to keep the fork/join overhead negligible,
+     * small enough to keep every core busy until the end of the run.
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * The number of turns after which a game is abandoned and counted as unfinished.
+     * Bot games practically always end long before this, it only guards against
+     * a pathological game keeping a worker busy forever.
+     */
+    static final int MAX_TURNS = 10_000;
+
+    /**
+     * The algorithm of every game's random generator: fast, with a small state, and
+     * statistically strong even for generators whose seeds differ in a single bit.
+     */
+    private static final RandomGeneratorFactory<RandomGenerator> RANDOM_FACTORY = RandomGeneratorFactory.of("L64X128MixRandom");
+
+    /**
+     * Runs the given number of bot-only games on every available core.
+     *
+     * @param numGames   the number of games to play
+     * @param numPlayers the number of bots seated at every table
+     * @return the aggregated statistics of all games
+     */
+    public static Result run(int numGames, int numPlayers) {
+        return run(numGames, numPlayers, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Runs the given number of bot-only games on a pool with the given number of threads.
+     *
+     * @param numGames    the number of games to play
+     * @param numPlayers  the number of bots seated at every table
+     * @param parallelism the number of worker threads to use
+     * @return the aggregated statistics of all games
+     */
+    public static Result run(int numGames, int numPlayers, int parallelism) {
+        return run(numGames, numPlayers, parallelism, RandomGenerator.getDefault().nextLong());
+    }
+
+    /**
+     * Runs the given number of bot-only games on a pool with the given number of threads,
+     * shuffling every game with a generator derived from the given seed. The same seed
+     * gives the same result on any number of threads.
+     *
+     * @param numGames    the number of games to play
+     * @param numPlayers  the number of bots seated at every table
+     * @param parallelism the number of worker threads to use
+     * @param seed        the seed of the run
+     * @return the aggregated statistics of all games
+     */
+    public static Result run(int numGames, int numPlayers, int parallelism, long seed) {
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            return pool.invoke(new Batch(numPlayers, seed, 0, numGames)).setSeed(seed);
+        }
+    }
+
+    /**
+     * Derives the seed of a single game from the seed of a run and the game's index,
+     * so that neighbouring games get unrelated shuffles.
+     *
+     * @param seed the seed of the run
+     * @param game the index of the game within the run
+     * @return the seed of the game's random generator
+     */
+    public static long getGameSeed(long seed, int game) {
+        // The finalizer of SplitMix64
+        long z = seed + (game + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Creates the random generator of a single game, an L64X128MixRandom with the given seed.
+     *
+     * @param gameSeed the seed of the game, see {@link #getGameSeed(long, int)}
+     * @return a new random generator for the game's table
+     */
+    public static RandomGenerator createGameRandom(long gameSeed) {
+        return RANDOM_FACTORY.create(gameSeed);
+    }
+
+    /**
+     * Plays a single bot-only game to completion and adds its statistics to the given result.
+     *
+     * @param numPlayers the number of bots seated at the table
+     * @param result     the result to add the game's statistics to
+     */
+    public static void playGame(int numPlayers, Result result) {
+        playGame(RandomGenerator.getDefault(), numPlayers, result);
+    }
+
+    /**
+     * Plays a single bot-only game to completion, shuffling with the given random
+     * generator, and adds its statistics to the given result.
+     *
+     * @param random     the random generator of the game's table
+     * @param numPlayers the number of bots seated at the table
+     * @param result     the result to add the game's statistics to
+     */
+    public static void playGame(RandomGenerator random, int numPlayers, Result result) {
+        Game game = new Game(random, numPlayers);
+        int turns = 0;
+        int draws = 0;
+
+        while (!game.isGameOver() && turns < MAX_TURNS) {
+            Player player = game.getPlayer(game.getCurrentPlayer());
+            player.makeBotMove();
+            turns++;
+            if (player.lastActionWasDraw()) draws++;
+        }
+
+        result.games++;
+        result.turns += turns;
+        result.draws += draws;
+        result.reshuffles += game.getReshuffleCount();
+        if (game.isGameOver()) {
+            result.wins[game.getWinningPlayer()]++;
+        } else {
+            result.unfinished++;
+        }
+    }
+
+    /**
+     * A range of games which splits itself in half until it is small enough
+     * to be played sequentially by one worker.
+     */
+    private static class Batch extends RecursiveTask<Result> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int numPlayers;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        private Batch(int numPlayers, long seed, int from, int to) {
+            this.numPlayers = numPlayers;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= BATCH_SIZE) {
+                Result result = new Result(numPlayers);
+                for (int i = from; i < to; i++) {
+                    playGame(createGameRandom(getGameSeed(seed, i)), numPlayers, result);
+                }
+                return result;
+            }
+            int middle = (from + to) >>> 1;
+            Batch left = new Batch(numPlayers, seed, from, middle);
+            left.fork();
+            Result right = new Batch(numPlayers, seed, middle, to).compute();
+            return right.merge(left.join());
+        }
+    }
+
+    /**
+     * The aggregated statistics of a set of simulated games.
+     * A result is only ever written to by one thread at a time.
+     */
+    public static class Result {
+        private final long[] wins;
+        private long games = 0;
+        private long unfinished = 0;
+        private long turns = 0;
+        private long draws = 0;
+        private long reshuffles = 0;
+        private Long seed = null;
+
+        /**
+         * Creates an empty result for tables with the given number of seats.
+         *
+         * @param numPlayers the number of seats at every table
+         */
+        public Result(int numPlayers) {
+            wins = new long[numPlayers];
+        }
+
+        /**
+         * Adds the statistics of another result to this one.
+         *
+         * @param other the result to add
+         * @return this result, for chaining
+         */
+        public Result merge(Result other) {
+            for (int i = 0; i < wins.length; i++) {
+                wins[i] += other.wins[i];
+            }
+            games += other.games;
+            unfinished += other.unfinished;
+            turns += other.turns;
+            draws += other.draws;
+            reshuffles += other.reshuffles;
+            return this;
+        }
+
+        // Remembers the seed of the run that produced this result
+        private Result setSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Retrieves the seed of the run that produced this result, which plays exactly
+         * the same games again when passed to {@link Simulation#run(int, int, int, long)}.
+         *
+         * @return the seed, or null if the games were not played by a seeded run
+         */
+        public Long getSeed() {
+            return seed;
+        }
+
+        /**
+         * Retrieves the number of games won by the given seat.
+         *
+         * @param seat the seat index, where 0 is the player who moves first
+         * @return the number of games won
+         */
+        public long getWins(int seat) {
+            return wins[seat];
+        }
+
+        /**
+         * Retrieves the fraction of games won by the given seat.
+         *
+         * @param seat the seat index, where 0 is the player who moves first
+         * @return the win rate between 0 and 1
+         */
+        public double getWinRate(int seat) {
+            return (games == 0) ? 0 : (double) wins[seat] / games;
+        }
+
+        /**
+         * Retrieves the total number of games played.
+         *
+         * @return the number of games
+         */
+        public long getGames() {
+            return games;
+        }
+
+        /**
+         * Retrieves the number of games that hit the turn limit without a winner.
+         *
+         * @return the number of unfinished games
+         */
+        public long getUnfinished() {
+            return unfinished;
+        }
+
+        /**
+         * Retrieves the total number of turns played in all games.
+         *
+         * @return the number of turns
+         */
+        public long getTurns() {
+            return turns;
+        }
+
+        /**
+         * Retrieves the mean number of turns played per game.
+         *
+         * @return the mean turns per game
+         */
+        public double getMeanTurns() {
+            return (games == 0) ? 0 : (double) turns / games;
+        }
+
+        /**
+         * Retrieves the mean number of turns per game in which a player drew a card.
+         *
+         * @return the mean draws per game
+         */
+        public double getMeanDraws() {
+            return (games == 0) ? 0 : (double) draws / games;
+        }
+
+        /**
+         * Retrieves the mean number of times per game the draw pile ran out and the
+         * discard pile was shuffled back into it.
+         *
+         * @return the mean reshuffles per game
+         */
+        public double getMeanReshuffles() {
+            return (games == 0) ? 0 : (double) reshuffles / games;
+        }
+
+        /**
+         * Returns the statistics formatted as semicolon-separated lines,
+         * ready to be shown with {@link Utility.Console#writeTUIBox(String, boolean, boolean)}.
+         *
+         * @return the formatted statistics
+         */
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            text.append("Games: ").append(games).append(";");
+            text.append("Unfinished: ").append(unfinished).append(";");
+            text.append(String.format("Mean Turns: %.2f;", getMeanTurns()));
+            text.append(String.format("Mean Draws: %.2f;", getMeanDraws()));
+            text.append(String.format("Mean Reshuffles: %.3f;", getMeanReshuffles()));
+            if (seed != null) text.append("Seed: ").append(seed).append(";");
+            text.append("-".repeat(Utility.Console.getBoxWidth() + 2)).append(";");
+            for (int i = 0; i < wins.length; i++) {
+                text.append(String.format("Bot %d Win Rate: %.2f%%;", i + 1, getWinRate(i) * 100));
+            }
+            return String.valueOf(text);
+        }
+
+        /**
+         * Compares the statistics of two results, which are equal only if both sets of
+         * games ended exactly alike. The seed is not compared.
+         *
+         * @param other the object to compare with
+         * @return true if the other object is a result with the same statistics
+         */
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Result result && Arrays.equals(wins, result.wins)
+                    && games == result.games && unfinished == result.unfinished && turns == result.turns
+                    && draws == result.draws && reshuffles == result.reshuffles;
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(wins) * 31 + Long.hashCode(turns);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package Uno;
+
+/**
+ * A policy that decides what a computer-controlled player does on its turn.
+ * <p>
+ * A {@link Player} is constructed with the strategy that plays for it; a player
+ * without a strategy is a human. Strategies only decide, they never change the
+ * game themselves, so one strategy instance may be shared by many players and,
+ * as long as it keeps no per-call state, by many tables on different threads.
+ */
+public interface Strategy {
+    /**
+     * Chooses the card to play from the given hand.
+     *
+     * @param game the table the hand is being played at
+     * @param hand the hand of the player whose turn it is
+     * @return the index of the card to play, which must be playable on the top card of the
+     *         discard pile, or {@code hand.numCardsInHand()} to draw a card instead
+     */
+    int chooseMove(Game game, Hand hand);
+
+    /**
+     * Chooses the color to name when playing a wild card.
+     *
+     * @param game the table the hand is being played at
+     * @param hand the hand of the player whose turn it is
+     * @return the color that the next player has to match
+     */
+    Card.Colors chooseWildColor(Game game, Hand hand);
+}
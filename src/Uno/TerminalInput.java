@@ -0,0 +1,35 @@
+package Uno;
+
+import java.util.Scanner;
+
+/**
+ * Reads the human's answers from what is typed at the console, which is the input
+ * source the game uses unless another one is set.
+ */
+public class TerminalInput implements InputSource {
+    private final Scanner scanner;
+
+    /**
+     * Creates an input source that reads from standard input.
+     */
+    public TerminalInput() {
+        scanner = new Scanner(System.in);
+    }
+
+    @Override
+    public int readNumber() {
+        return scanner.nextInt();
+    }
+
+    /**
+     * Reads the next line typed at the console. Whatever is left of the line a number
+     * was typed on is cleared first, so only a line typed after the question is read.
+     *
+     * @return the line typed
+     */
+    @Override
+    public String readLine() {
+        scanner.nextLine(); // Clear buffer
+        return scanner.nextLine();
+    }
+}
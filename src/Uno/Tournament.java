@@ -0,0 +1,316 @@
+package Uno;
+
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Plays a round-robin tournament between bot strategies and rates them.
+ * <p>
+ * Every pair of entrants plays the same number of two-player games, swapping seats
+ * after every game so neither gets more first moves than the other. Games are spread
+ * across all cores with a {@link ForkJoinPool}, like {@link Simulation}, but every
+ * game shuffles with a generator seeded from the tournament seed and the game's index,
+ * and its outcome is stored at that index. Which thread plays a game, and when, has
+ * no influence on anything, so a tournament gives bit-identical results on any
+ * number of threads.
+ * <p>
+ * The ratings are a Bradley-Terry fit of the outcomes, shown on the Elo scale.
+ */
+public class Tournament {
+    /**
+     * The number of games a single task plays sequentially before it stops splitting.
+     */
+    private static final int BATCH_SIZE = 64;
+
+    // Outcomes of a game, stored per game index
+    private static final byte FIRST_ENTRANT_WON = 0;
+    private static final byte SECOND_ENTRANT_WON = 1;
+    private static final byte UNFINISHED = 2;
+
+    /**
+     * The number of Elo points that correspond to a tenfold difference in strength.
+     */
+    private static final double ELO_SCALE = 400;
+
+    /**
+     * The number of fixed-point iterations used to fit the ratings.
+     */
+    private static final int FIT_ITERATIONS = 1000;
+
+    private final String[] names;
+    private final Strategy[] strategies;
+
+    /**
+     * Creates a tournament between the given strategies.
+     *
+     * @param names      the name every entrant is reported under
+     * @param strategies the strategy of every entrant, in the same order as the names.
+     *                   Strategies are shared between threads, so they must keep no per-call state.
+     */
+    public Tournament(String[] names, Strategy[] strategies) {
+        if (names.length != strategies.length || strategies.length < 2) {
+            throw new Error("Something terrible has occurred. (A tournament needs a name for each of at least two strategies)");
+        }
+        this.names = names.clone();
+        this.strategies = strategies.clone();
+    }
+
+    /**
+     * Plays the tournament on every available core.
+     *
+     * @param gamesPerPair the number of games every pair of entrants plays
+     * @param seed         the seed every game's shuffles are derived from
+     * @return the results and ratings of the tournament
+     */
+    public Result run(int gamesPerPair, long seed) {
+        return run(gamesPerPair, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Plays the tournament on a pool with the given number of threads. The result
+     * does not depend on the number of threads.
+     *
+     * @param gamesPerPair the number of games every pair of entrants plays
+     * @param seed         the seed every game's shuffles are derived from
+     * @param parallelism  the number of worker threads to use
+     * @return the results and ratings of the tournament
+     */
+    public Result run(int gamesPerPair, long seed, int parallelism) {
+        int numPairs = strategies.length * (strategies.length - 1) / 2;
+        int[] firstOfPair = new int[numPairs];
+        int[] secondOfPair = new int[numPairs];
+        int pair = 0;
+        for (int i = 0; i < strategies.length; i++) {
+            for (int j = i + 1; j < strategies.length; j++) {
+                firstOfPair[pair] = i;
+                secondOfPair[pair] = j;
+                pair++;
+            }
+        }
+
+        byte[] outcomes = new byte[numPairs * gamesPerPair];
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            pool.invoke(new Batch(firstOfPair, secondOfPair, gamesPerPair, seed, outcomes, 0, outcomes.length));
+        }
+
+        // Tally the outcomes in game order, so the result is the same however the games were scheduled
+        Result result = new Result(names);
+        for (int game = 0; game < outcomes.length; game++) {
+            int first = firstOfPair[game / gamesPerPair];
+            int second = secondOfPair[game / gamesPerPair];
+            switch (outcomes[game]) {
+                case FIRST_ENTRANT_WON -> result.wins[first][second]++;
+                case SECOND_ENTRANT_WON -> result.wins[second][first]++;
+                default -> result.unfinished++;
+            }
+        }
+        result.fitRatings();
+        return result;
+    }
+
+    /**
+     * Plays a single two-player game between two strategies.
+     *
+     * @param first  the strategy of the player who moves first
+     * @param second the strategy of the other player
+     * @param seed   the seed of the game's shuffles
+     * @return the seat of the winner, or -1 if the game hit the turn limit
+     */
+    public static int playGame(Strategy first, Strategy second, long seed) {
+        Game game = new Game(Simulation.createGameRandom(seed), first, second);
+        int turns = 0;
+        while (!game.isGameOver() && turns < Simulation.MAX_TURNS) {
+            game.getPlayer(game.getCurrentPlayer()).makeBotMove();
+            turns++;
+        }
+        return game.isGameOver() ? game.getWinningPlayer() : -1;
+    }
+
+    /**
+     * A range of game indices which splits itself in half until it is small enough
+     * to be played sequentially by one worker. Every game writes only its own outcome.
+     */
+    private class Batch extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int[] firstOfPair;
+        private final int[] secondOfPair;
+        private final int gamesPerPair;
+        private final long seed;
+        private final byte[] outcomes;
+        private final int from;
+        private final int to;
+
+        private Batch(int[] firstOfPair, int[] secondOfPair, int gamesPerPair, long seed, byte[] outcomes, int from, int to) {
+            this.firstOfPair = firstOfPair;
+            this.secondOfPair = secondOfPair;
+            this.gamesPerPair = gamesPerPair;
+            this.seed = seed;
+            this.outcomes = outcomes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_SIZE) {
+                for (int game = from; game < to; game++) {
+                    int pair = game / gamesPerPair;
+                    Strategy first = strategies[firstOfPair[pair]];
+                    Strategy second = strategies[secondOfPair[pair]];
+                    // Alternate who moves first within every pair
+                    boolean swapSeats = (game % gamesPerPair) % 2 == 1;
+                    int winner = swapSeats
+                            ? playGame(second, first, Simulation.getGameSeed(seed, game))
+                            : playGame(first, second, Simulation.getGameSeed(seed, game));
+                    if (winner < 0) {
+                        outcomes[game] = UNFINISHED;
+                    } else {
+                        outcomes[game] = ((winner == 0) != swapSeats) ? FIRST_ENTRANT_WON : SECOND_ENTRANT_WON;
+                    }
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Batch(firstOfPair, secondOfPair, gamesPerPair, seed, outcomes, from, middle),
+                    new Batch(firstOfPair, secondOfPair, gamesPerPair, seed, outcomes, middle, to));
+        }
+    }
+
+    /**
+     * The head-to-head results of a tournament and the ratings fitted to them.
+     */
+    public static class Result {
+        private final String[] names;
+        private final long[][] wins;
+        private long unfinished = 0;
+        private final double[] ratings;
+        private final double[] errors;
+
+        private Result(String[] names) {
+            this.names = names;
+            wins = new long[names.length][names.length];
+            ratings = new double[names.length];
+            errors = new double[names.length];
+        }
+
+        // Fits a Bradley-Terry model with the minorization-maximization algorithm,
+        // then estimates every rating's standard error from the diagonal of the
+        // Fisher information. Each pair is credited with one extra drawn game, so an
+        // entrant that never wins still gets a finite rating.
+        private void fitRatings() {
+            int n = names.length;
+            double[][] played = new double[n][n];
+            double[] won = new double[n];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    if (i == j) continue;
+                    played[i][j] = wins[i][j] + wins[j][i] + 1;
+                    won[i] += wins[i][j] + 0.5;
+                }
+            }
+
+            double[] strength = new double[n];
+            Arrays.fill(strength, 1);
+            double[] next = new double[n];
+            for (int iteration = 0; iteration < FIT_ITERATIONS; iteration++) {
+                double logSum = 0;
+                for (int i = 0; i < n; i++) {
+                    double denominator = 0;
+                    for (int j = 0; j < n; j++) {
+                        if (i != j) denominator += played[i][j] / (strength[i] + strength[j]);
+                    }
+                    next[i] = won[i] / denominator;
+                    logSum += Math.log(next[i]);
+                }
+                // Keep the geometric mean at 1, so the ratings average 0
+                double scale = Math.exp(logSum / n);
+                for (int i = 0; i < n; i++) strength[i] = next[i] / scale;
+            }
+
+            double eloPerNatural = ELO_SCALE / Math.log(10);
+            for (int i = 0; i < n; i++) {
+                double information = 0;
+                for (int j = 0; j < n; j++) {
+                    if (i == j) continue;
+                    double p = strength[i] / (strength[i] + strength[j]);
+                    information += played[i][j] * p * (1 - p);
+                }
+                ratings[i] = Math.log(strength[i]) * eloPerNatural;
+                errors[i] = eloPerNatural / Math.sqrt(information);
+            }
+        }
+
+        /**
+         * Retrieves the number of games one entrant won against another.
+         *
+         * @param winner the index of the winning entrant
+         * @param loser  the index of the losing entrant
+         * @return the number of games won
+         */
+        public long getWins(int winner, int loser) {
+            return wins[winner][loser];
+        }
+
+        /**
+         * Retrieves the number of games that hit the turn limit without a winner.
+         * These games do not count towards the ratings.
+         *
+         * @return the number of unfinished games
+         */
+        public long getUnfinished() {
+            return unfinished;
+        }
+
+        /**
+         * Retrieves the rating of an entrant on the Elo scale, where the ratings of all
+         * entrants average 0 and a 400 point difference means ten-to-one odds.
+         *
+         * @param entrant the index of the entrant
+         * @return the rating
+         */
+        public double getRating(int entrant) {
+            return ratings[entrant];
+        }
+
+        /**
+         * Retrieves the half-width of the approximate 95% confidence interval of an entrant's rating.
+         *
+         * @param entrant the index of the entrant
+         * @return the confidence interval in Elo points either side of the rating
+         */
+        public double getConfidenceInterval(int entrant) {
+            return 1.96 * errors[entrant];
+        }
+
+        /**
+         * Returns the entrants ordered from best to worst rating, formatted as semicolon-separated
+         * lines, ready to be shown with {@link Utility.Console#writeTUIBox(String, boolean, boolean)}.
+         *
+         * @return the formatted standings
+         */
+        public String toString() {
+            Integer[] order = new Integer[names.length];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> Double.compare(ratings[b], ratings[a]));
+
+            StringBuilder text = new StringBuilder();
+            for (int rank = 0; rank < order.length; rank++) {
+                int i = order[rank];
+                long won = 0;
+                long lost = 0;
+                for (int j = 0; j < names.length; j++) {
+                    won += wins[i][j];
+                    lost += wins[j][i];
+                }
+                text.append(String.format("%d. %-10s %+5.0f ±%3.0f %5.1f%%;", rank + 1, names[i], ratings[i],
+                        getConfidenceInterval(i), (won + lost == 0) ? 0 : 100.0 * won / (won + lost)));
+            }
+            text.append("Unfinished: ").append(unfinished).append(";");
+            return String.valueOf(text);
+        }
+    }
+}
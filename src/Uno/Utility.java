@@ -1,8 +1,5 @@
 package Uno;
 
-import java.util.List;
-import java.util.Scanner;
-
 /**
  * Utility class provides a set of static methods and constants
  * that can be commonly used across different areas of an application.
@@ -59,9 +56,22 @@ public class Utility {
         }
 
         private static final int boxWidth = 40;
-        private static final Scanner scanner = new Scanner(System.in);
+
+        // The borders of every box, which never change
+        private static final String TOP_BAR = "┌" + repeatString("─", boxWidth - 2) + "┐";
+        private static final String MIDDLE_BAR = "├" + repeatString("─", boxWidth - 2) + "┤";
+        private static final String BOTTOM_BAR = "└" + repeatString("─", boxWidth - 2) + "┘";
+        private static final String LINE_SEPARATOR = System.lineSeparator();
+
+        /**
+         * The buffer every box is built in before it is written, reused for every frame.
+         */
+        private static StringBuilder frame = new StringBuilder(4 * 1024);
+        private static final int MAX_FRAME_CAPACITY = 16 * 1024;
+        private static InputSource inputSource = new TerminalInput();
         private static boolean canDisplayANSICodes = true;
         private static boolean hasCheckedForANSI = false;
+        private static GameView view = new BoxView();
 
         /**
          * Checks if the console supports ANSI escape codes and updates the internal state.
@@ -83,6 +93,53 @@ public class Utility {
             }
         }
 
+        /**
+         * Retrieves the view the interactive game is shown with.
+         *
+         * @return the current view, which is a {@link BoxView} unless another one was set
+         */
+        public static GameView getView() {
+            return view;
+        }
+
+        /**
+         * Changes how the interactive game is shown at the console.
+         *
+         * @param newView the view to show the game with from now on
+         */
+        public static void setView(GameView newView) {
+            view = newView;
+        }
+
+        /**
+         * Retrieves the source the human player's answers are read from.
+         *
+         * @return the current input source, which is a {@link TerminalInput} unless another one was set
+         */
+        public static InputSource getInputSource() {
+            return inputSource;
+        }
+
+        /**
+         * Changes where the human player's answers come from, for example to play their
+         * side of the game from a script or with a strategy instead of at the console.
+         *
+         * @param newInput the input source to read every answer from from now on
+         */
+        public static void setInputSource(InputSource newInput) {
+            inputSource = newInput;
+        }
+
+        /**
+         * Determines whether the console has been found to display ANSI escape codes.
+         * Until {@link #checkForANSI()} has asked, they are assumed to work.
+         *
+         * @return true if ANSI color codes should be written to the console
+         */
+        public static boolean canDisplayANSICodes() {
+            return canDisplayANSICodes;
+        }
+
         /**
          * Retrieves the width of the box used for console-based text formatting or layout.
          *
@@ -105,48 +162,52 @@ public class Utility {
             int input;
             do {
                 System.out.print("  => ");
-                input = scanner.nextInt();
+                input = inputSource.readNumber();
                 System.out.println();
             } while (input < min || input > max);
             return input;
         }
 
         /**
-         * Prompts the user to input a numerical value within a given range, ensuring that
-         * the input satisfies additional constraints such as being within a list of valid values,
-         * potentially adjusted by an offset, and optionally allowing a "draw" condition with the maximum value.
-         * Continues to prompt until a valid input is provided.
+         * Prompts the user to choose a move from their hand, by the number shown next to
+         * each card: a number from 1 to the hand size plays that card, and one more than the
+         * hand size draws a card. Continues to prompt until the chosen card can be played, or
+         * until the user draws when no card can be played.
+         * The playable cards are looked up with the same table the rest of the game uses,
+         * see {@link Card#getPlayableMask(Card, Card.Colors)}.
          *
-         * @param min the minimum acceptable value (inclusive)
-         * @param max the maximum acceptable value (inclusive)
-         * @param validValues the list of valid values that the input (adjusted by the offset) must belong to
-         * @param offset a numerical adjustment to be added to the user's input for validation
-         * @param includeDraw a boolean specifying if the maximum value is allowed as a special option
-         * @return the valid numerical input provided by the user
+         * @param hand the hand to choose a move from
+         * @return the valid numerical input provided by the user, from 1 to the hand size plus one
          */
-        public static int getNumericalInput(int min, int max, List<Integer> validValues, int offset, boolean includeDraw) {
+        public static int getNumericalInput(Hand hand) {
             int input;
             System.out.println();
             do {
                 System.out.print("  => ");
-                input = scanner.nextInt();
+                input = inputSource.readNumber();
                 System.out.println();
-            } while (input < min || input > max || !(validValues.contains(input + offset) || (includeDraw && (input == max))));
+            } while (!isValidMove(hand, input));
             return input;
         }
 
+        // Whether a number typed for a move names a playable card, or a draw with nothing playable
+        private static boolean isValidMove(Hand hand, int input) {
+            int numCards = hand.numCardsInHand();
+            if (input == numCards + 1) return !hand.hasPlayableCard();
+            return input >= 1 && input <= numCards && hand.isPlayable(input - 1);
+        }
+
         /**
          * Prompts the user for string input via the console and returns the entered value.
-         * The method ensures that any residual input in the scanner's buffer is cleared
-         * before capturing the new input. It also provides a prompt symbol to indicate
-         * that user input is expected.
+         * The answer is read from the current input source, which for the terminal clears
+         * any residual input in the scanner's buffer before capturing the new input. It also
+         * provides a prompt symbol to indicate that user input is expected.
          *
          * @return the string entered by the user
          */
         public static String getStringInput() {
             System.out.print("\n  => ");
-            scanner.nextLine(); // Clear buffer
-            String in = scanner.nextLine();
+            String in = inputSource.readLine();
             System.out.println();
             return in;
         }
@@ -161,13 +222,12 @@ public class Utility {
          * @return the selected wildcard color as one of the enumerated values in {@code Card.Colors}
          */
         public static Card.Colors askForWildColor() {
-            writeTUIBox("What color do you want?;" +
+            view.showMessage("What color do you want?;" +
                     Colors.RESET + "1) " + Colors.RED+"Red;" +
                     Colors.RESET + "2) " + Colors.YELLOW+"Yellow;" +
                     Colors.RESET + "3) " + Colors.GREEN+"Green;" +
                     Colors.RESET + "4) " + Colors.BLUE+"Blue" +
                     Colors.RESET
-                    ,false, false
             );
 
             switch (getNumericalInput(1, 4)) {
@@ -198,27 +258,14 @@ public class Utility {
          * @param isBoxAbove     a boolean indicating whether the box has a connector at the top
          *                       linking it to another box above
          */
-        public static void writeTUIBox(String[] innerTextSplit, boolean isBoxBelow, boolean isBoxAbove) {
-            // Make the top bar, with or without connectors on top
-            if (!isBoxAbove) System.out.println("┌" + repeatString("─", boxWidth - 2) + "┐");
-            else System.out.println("├" + repeatString("─", boxWidth - 2) + "┤");
-
-
+        public static synchronized void writeTUIBox(String[] innerTextSplit, boolean isBoxBelow, boolean isBoxAbove) {
+            frame.setLength(0);
+            frame.append(isBoxAbove ? MIDDLE_BAR : TOP_BAR).append(LINE_SEPARATOR);
             for (String text : innerTextSplit) {
-                // Remove ANSI codes for length calculations
-                String filteredText = text.replaceAll("\u001B\\[[;\\d]*m", "");
-                // Get the length
-                int visibleLength = filteredText.length();
-                // Crop it if necessary (should never have to, hopefully)
-                if (visibleLength > boxWidth - 4) {
-                    filteredText = text.replaceAll("\u001B\\[[;\\d]*m", "");
-                }
-                String croppedText = getCroppedText(text);
-                // Print it out!
-                System.out.println("│ " + croppedText + Colors.RESET + repeatString(" ", boxWidth - 4 - filteredText.length()) + " │");
+                appendLine(text, 0, text.length());
             }
-            // Make the bottom bar, with or without connectors on the bottom
-            if (!isBoxBelow) System.out.println("└" + repeatString("─", boxWidth - 2) + "┘");
+            if (!isBoxBelow) frame.append(BOTTOM_BAR).append(LINE_SEPARATOR);
+            writeFrame();
         }
 
         /**
@@ -226,6 +273,10 @@ public class Utility {
          * within a bordered box structure. This method simplifies the process by accepting a single
          * string as input, which is split into multiple lines for display within the box. The method
          * also allows for optional connections to a box above or below the current box.
+         * <p>
+         * Lines are split the same way as {@code innerText.split(";")}, so empty lines at the
+         * end are left out, but the text is never copied: every line is measured, cropped and
+         * padded in a single pass straight into the frame.
          *
          * @param innerText  a semicolon-separated string where each segment represents a line of text
          *                   to be displayed inside the box
@@ -234,53 +285,73 @@ public class Utility {
          * @param isBoxAbove a boolean indicating whether the box has a connector at the top
          *                   linking it to another box above
          */
-        public static void writeTUIBox(String innerText, boolean isBoxBelow, boolean isBoxAbove) {
-            writeTUIBox(innerText.split(";"), isBoxBelow, isBoxAbove);
+        public static synchronized void writeTUIBox(String innerText, boolean isBoxBelow, boolean isBoxAbove) {
+            frame.setLength(0);
+            frame.append(isBoxAbove ? MIDDLE_BAR : TOP_BAR).append(LINE_SEPARATOR);
+
+            // Like split, drop the empty lines at the end, unless there is no separator at all
+            int end = innerText.length();
+            while (end > 0 && innerText.charAt(end - 1) == ';') end--;
+            if (end > 0 || innerText.isEmpty()) {
+                int lineStart = 0;
+                for (int i = 0; i <= end; i++) {
+                    if (i == end || innerText.charAt(i) == ';') {
+                        appendLine(innerText, lineStart, i);
+                        lineStart = i + 1;
+                    }
+                }
+            }
+
+            if (!isBoxBelow) frame.append(BOTTOM_BAR).append(LINE_SEPARATOR);
+            writeFrame();
         }
 
         /**
-         * Crops the input text to fit within the specified width,
-         * while handling special ANSI escape codes to maintain
-         * text formatting. The cropped result will be limited to
-         * ensure the final text's visible portion is within the
-         * given width.
+         * Appends one line of the box to the frame: the text between the given indices,
+         * cropped to fit inside the box and padded with spaces to its full width. ANSI
+         * escape codes take no room, and are left out if the console cannot display them.
          *
-         * @param text the input text to be cropped, which may include ANSI escape codes
-         * @return a cropped version of the input text that fits within the specified width
+         * @param text  the text containing the line, which may include ANSI escape codes
+         * @param start the index of the first character of the line
+         * @param end   the index just past the last character of the line
          */
-        private static String getCroppedText(String text) {
-
+        private static void appendLine(String text, int start, int end) {
             /*
-                NOTE: I did get a little help from AI here,
-                but I understand it fully and have added some
-                comments below to explain it. My previous idea
-                that I had was a custom escape code translation
-                system using the § symbol (which I did fully code).
-                However, that was a bad idea, so I went back to
-                standard ANSI escape codes and used a little AI to
-                get the code working. Thanks, IntelliJ.
+                NOTE: This started out as getCroppedText, which I got
+                a little help from AI with. It now measures, crops and
+                pads the line in the same pass, so the line never needs
+                a regex to strip the ANSI codes before it is measured.
              */
-
-            StringBuilder croppedText = new StringBuilder();
-            int currentLength = 0; // Current VISIBLE text length (non-ANSI code)
-            int i = 0; // Index for iterating through the text
-
-            // Run until it's the right length or done with the text
-            while (i < text.length() && currentLength < Console.boxWidth - 4) {
-                // Adds it to the output without increasing the currentLength if it's an ansi code
-                if (text.charAt(i) == '\u001B') { // ANSI escape character, not a String
+            frame.append("│ ");
+            int visibleLength = 0; // Current VISIBLE text length (non-ANSI code)
+            int i = start;
+            while (i < end && visibleLength < boxWidth - 4) {
+                // Adds it to the output without increasing the visibleLength if it's an ansi code
+                if (text.charAt(i) == '\u001B') {
                     int codeEnd = text.indexOf('m', i); // Find where the ANSI code ends
-                    if (codeEnd != -1) { // If it ends, append only the ANSI code
-                        if (canDisplayANSICodes) croppedText.append(text, i, codeEnd + 1);
-                        i = codeEnd + 1; // Make the index where the ANSI code ends
-                        continue; // Finish this loop cycle early
+                    if (codeEnd != -1 && codeEnd < end) {
+                        if (canDisplayANSICodes) frame.append(text, i, codeEnd + 1);
+                        i = codeEnd + 1;
+                        continue;
                     }
                 }
-                croppedText.append(text.charAt(i)); // Append the letter if it's not an ANSI escape code
-                currentLength++; // Increment currentLength
-                i++; // Increment Index
+                frame.append(text.charAt(i));
+                visibleLength++;
+                i++;
             }
-            return croppedText.toString(); // Return the output
+            frame.append(Colors.RESET);
+            for (int pad = visibleLength; pad < boxWidth - 4; pad++) {
+                frame.append(' ');
+            }
+            frame.append(" │").append(LINE_SEPARATOR);
+        }
+
+        // Writes the whole frame to the console at once, with a single flush
+        private static void writeFrame() {
+            System.out.print(frame);
+            System.out.flush();
+            // Don't let one huge box keep a huge buffer alive
+            if (frame.capacity() > MAX_FRAME_CAPACITY) frame = new StringBuilder(MAX_FRAME_CAPACITY);
         }
 
         /**
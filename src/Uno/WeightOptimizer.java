@@ -0,0 +1,299 @@
+package Uno;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Tunes the weights of a {@link HeuristicStrategy}, including the wild color weight, by
+ * self-play with an evolution strategy.
+ * <p>
+ * Every generation samples a population of candidates around the current weights,
+ * with a step size that grows while steps keep going the same way and shrinks while they
+ * cancel out (a (mu/mu_w, lambda) evolution strategy with cumulative step-size adaptation).
+ * Each candidate plays the same games in one seat against bots with the current weights
+ * in every other seat, taking every seat in turn, and the weights move towards the
+ * candidates that won most. Since every candidate of a generation plays exactly the same
+ * shuffles, the differences between their results come from their weights rather than
+ * their luck, so far fewer games tell candidates apart (common random numbers).
+ * <p>
+ * The games of a generation are spread across a {@link ForkJoinPool} like a
+ * {@link Simulation}, and every game writes only its own outcome. Every game is seeded
+ * from the run's seed, the generation and the game's index, so a run with a given seed
+ * finds exactly the same weights on any number of threads.
+ */
+public class WeightOptimizer {
+    /**
+     * The number of games a single task plays sequentially before it stops splitting.
+     */
+    private static final int BATCH_SIZE = 64;
+
+    /**
+     * The step size a run starts with, in points of a weight.
+     */
+    private static final double INITIAL_STEP_SIZE = 4;
+
+    private final int numPlayers;
+    private final int populationSize;
+    private final int gamesPerCandidate;
+
+    /**
+     * Creates an optimizer.
+     *
+     * @param numPlayers        the number of seats at every table
+     * @param populationSize    the number of candidates every generation, at least 2
+     * @param gamesPerCandidate the number of games every candidate plays every generation
+     */
+    public WeightOptimizer(int numPlayers, int populationSize, int gamesPerCandidate) {
+        this.numPlayers = numPlayers;
+        this.populationSize = populationSize;
+        this.gamesPerCandidate = gamesPerCandidate;
+    }
+
+    /**
+     * Tunes the weights for the given number of generations, and then plays the tuned
+     * weights and the default bot on the same set of new games against default bots,
+     * to show how much better the tuned weights are.
+     *
+     * @param start       the strategy whose weights the run starts from
+     * @param generations the number of generations to run
+     * @param seed        the seed of the run
+     * @param parallelism the number of worker threads to use
+     * @return the tuned weights and how they did
+     */
+    public Result run(HeuristicStrategy start, int generations, long seed, int parallelism) {
+        int n = HeuristicStrategy.WEIGHT_NAMES.length;
+        int parents = populationSize / 2;
+        double[] recombination = new double[parents];
+        for (int i = 0; i < parents; i++) recombination[i] = Math.log(parents + 0.5) - Math.log(i + 1);
+        double total = Arrays.stream(recombination).sum();
+        double squares = 0;
+        for (int i = 0; i < parents; i++) {
+            recombination[i] /= total;
+            squares += recombination[i] * recombination[i];
+        }
+        double effectiveParents = 1 / squares;
+        double cumulation = (effectiveParents + 2) / (n + effectiveParents + 5);
+        double damping = 1 + 2 * Math.max(0, Math.sqrt((effectiveParents - 1) / (n + 1)) - 1) + cumulation;
+        double expectedLength = Math.sqrt(n) * (1 - 1.0 / (4 * n) + 1.0 / (21 * n * n));
+
+        RandomGenerator random = Simulation.createGameRandom(seed);
+        double[] mean = Arrays.stream(start.getWeights()).asDoubleStream().toArray();
+        double[] path = new double[n];
+        double stepSize = INITIAL_STEP_SIZE;
+        List<String> history = new ArrayList<>();
+        long startNanos = System.nanoTime();
+
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            for (int generation = 0; generation < generations; generation++) {
+                HeuristicStrategy incumbent = HeuristicStrategy.fromWeights(round(mean));
+                double[][] steps = new double[populationSize][n];
+                HeuristicStrategy[] candidates = new HeuristicStrategy[populationSize];
+                for (int k = 0; k < populationSize; k++) {
+                    double[] weights = new double[n];
+                    for (int i = 0; i < n; i++) {
+                        steps[k][i] = random.nextGaussian();
+                        weights[i] = mean[i] + stepSize * steps[k][i];
+                    }
+                    candidates[k] = HeuristicStrategy.fromWeights(round(weights));
+                }
+
+                long[] wins = play(pool, candidates, incumbent, Simulation.getGameSeed(seed, generation));
+                Integer[] ranking = new Integer[populationSize];
+                for (int k = 0; k < populationSize; k++) ranking[k] = k;
+                Arrays.sort(ranking, (a, b) -> Long.compare(wins[b], wins[a]));
+
+                double[] step = new double[n];
+                for (int j = 0; j < parents; j++) {
+                    for (int i = 0; i < n; i++) step[i] += recombination[j] * steps[ranking[j]][i];
+                }
+                double length = 0;
+                for (int i = 0; i < n; i++) {
+                    mean[i] += stepSize * step[i];
+                    path[i] = (1 - cumulation) * path[i] + Math.sqrt(cumulation * (2 - cumulation) * effectiveParents) * step[i];
+                    length += path[i] * path[i];
+                }
+                stepSize *= Math.exp((cumulation / damping) * (Math.sqrt(length) / expectedLength - 1));
+
+                history.add(String.format("Gen %d: best %.1f%%, median %.1f%%", generation + 1,
+                        100.0 * wins[ranking[0]] / gamesPerCandidate, 100.0 * wins[ranking[populationSize / 2]] / gamesPerCandidate));
+            }
+
+            // Compare the tuned weights with the default bot on the same new games
+            HeuristicStrategy tuned = HeuristicStrategy.fromWeights(round(mean));
+            int validationGames = 4 * gamesPerCandidate;
+            WeightOptimizer validation = new WeightOptimizer(numPlayers, 2, validationGames);
+            long[] wins = validation.play(pool, new HeuristicStrategy[]{tuned, HeuristicStrategy.DEFAULT},
+                    HeuristicStrategy.DEFAULT, Simulation.getGameSeed(seed, -1));
+            long games = (long) generations * populationSize * gamesPerCandidate + 2L * validationGames;
+            return new Result(tuned, (double) wins[0] / validationGames, (double) wins[1] / validationGames,
+                    validationGames, games, (System.nanoTime() - startNanos) / 1e9, history);
+        }
+    }
+
+    /**
+     * Plays every candidate in one seat against the opponent in every other seat, on the
+     * same games for every candidate.
+     *
+     * @return the number of games every candidate won
+     */
+    private long[] play(ForkJoinPool pool, HeuristicStrategy[] candidates, HeuristicStrategy opponent, long seed) {
+        boolean[] won = new boolean[candidates.length * gamesPerCandidate];
+        pool.invoke(new Batch(candidates, opponent, seed, won, 0, won.length));
+        long[] wins = new long[candidates.length];
+        for (int i = 0; i < won.length; i++) {
+            if (won[i]) wins[i / gamesPerCandidate]++;
+        }
+        return wins;
+    }
+
+    private static int[] round(double[] weights) {
+        int[] rounded = new int[weights.length];
+        for (int i = 0; i < weights.length; i++) rounded[i] = (int) Math.round(weights[i]);
+        return rounded;
+    }
+
+    /**
+     * A range of games, flattened over candidates, which splits itself in half until it is
+     * small enough to be played sequentially by one worker.
+     */
+    private class Batch extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        // Strategies are not serializable, and a task is never serialized anyway
+        private final transient HeuristicStrategy[] candidates;
+        private final transient HeuristicStrategy opponent;
+        private final long seed;
+        private final boolean[] won;
+        private final int from;
+        private final int to;
+
+        private Batch(HeuristicStrategy[] candidates, HeuristicStrategy opponent, long seed, boolean[] won, int from, int to) {
+            this.candidates = candidates;
+            this.opponent = opponent;
+            this.seed = seed;
+            this.won = won;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_SIZE) {
+                Strategy[] seats = new Strategy[numPlayers];
+                for (int index = from; index < to; index++) {
+                    int game = index % gamesPerCandidate;
+                    int seat = game % numPlayers;
+                    Arrays.fill(seats, opponent);
+                    seats[seat] = candidates[index / gamesPerCandidate];
+                    won[index] = playGame(seats, Simulation.getGameSeed(seed, game)) == seat;
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Batch(candidates, opponent, seed, won, from, middle),
+                    new Batch(candidates, opponent, seed, won, middle, to));
+        }
+    }
+
+    // Plays one game between the given strategies and returns the seat of the winner, or -1
+    private static int playGame(Strategy[] seats, long seed) {
+        Game game = new Game(Simulation.createGameRandom(seed), seats);
+        for (int turns = 0; !game.isGameOver() && turns < Simulation.MAX_TURNS; turns++) {
+            game.getPlayer(game.getCurrentPlayer()).makeBotMove();
+        }
+        return game.isGameOver() ? game.getWinningPlayer() : -1;
+    }
+
+    /**
+     * The weights a run found, and how they did against the default bot.
+     */
+    public static class Result {
+        private final HeuristicStrategy strategy;
+        private final double winRate;
+        private final double defaultWinRate;
+        private final int validationGames;
+        private final long games;
+        private final double seconds;
+        private final List<String> history;
+
+        private Result(HeuristicStrategy strategy, double winRate, double defaultWinRate, int validationGames,
+                       long games, double seconds, List<String> history) {
+            this.strategy = strategy;
+            this.winRate = winRate;
+            this.defaultWinRate = defaultWinRate;
+            this.validationGames = validationGames;
+            this.games = games;
+            this.seconds = seconds;
+            this.history = history;
+        }
+
+        /**
+         * Retrieves the tuned strategy.
+         *
+         * @return a strategy with the tuned weights
+         */
+        public HeuristicStrategy getStrategy() {
+            return strategy;
+        }
+
+        /**
+         * Retrieves how often the tuned weights won against default bots in every other seat.
+         *
+         * @return the fraction of the validation games won
+         */
+        public double getWinRate() {
+            return winRate;
+        }
+
+        /**
+         * Retrieves how often the default bot won the same games in the same seats, which
+         * is what the tuned weights have to beat.
+         *
+         * @return the fraction of the validation games the default bot won
+         */
+        public double getDefaultWinRate() {
+            return defaultWinRate;
+        }
+
+        /**
+         * Retrieves the number of games played in the whole run, including the validation games.
+         *
+         * @return the number of games played
+         */
+        public long getGames() {
+            return games;
+        }
+
+        /**
+         * Retrieves how many games the run played per second.
+         *
+         * @return the games per second
+         */
+        public double getGamesPerSecond() {
+            return games / seconds;
+        }
+
+        /**
+         * Describes every generation of the run, the tuned weights and how they did, as lines
+         * for a TUI box.
+         *
+         * @return the summary of the run
+         */
+        public String toString() {
+            StringBuilder out = new StringBuilder();
+            for (String generation : history) out.append(generation).append(";");
+            String weights = Arrays.toString(strategy.getWeights());
+            out.append("Tuned weights:;").append(weights, 1, weights.length() - 1).append(";");
+            out.append(String.format("Tuned bot won %.1f%% of %d;Default bot won %.1f%% of them;",
+                    100 * winRate, validationGames, 100 * defaultWinRate));
+            out.append(String.format("%d games, %.0f games/s;", games, getGamesPerSecond()));
+            return out.toString();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package Uno;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of {@link Card}.
+ */
+class CardTest {
+    /**
+     * Checks the precomputed table of playable cards against the rules as they are written:
+     * a card can be played if it has the same number as the top card, has the active
+     * color, or is wild. Every card is checked on every top card with every active color.
+     */
+    @Test
+    void playableMasksFollowTheRules() {
+        for (int top = 0; top < Card.NUM_IDS; top++) {
+            Card topCard = Card.fromId(top);
+            for (Card.Colors activeColor : Card.Colors.values()) {
+                for (int id = 0; id < Card.NUM_IDS; id++) {
+                    Card card = Card.fromId(id);
+                    boolean expected = card.getCardNum() == topCard.getCardNum() || card.getCardColor() == activeColor || card.isWild();
+                    assertEquals(expected, card.canPlayCard(topCard, activeColor),
+                            () -> card.getId() + " on " + topCard.getId() + " with " + activeColor);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package Uno;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * JMH benchmarks of the console: drawing the box around a hand, and a whole interactive
+ * game where a strategy answers every question for the human. Everything written to
+ * the console is thrown away, so only producing the text is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsoleBenchmark {
+    private String box;
+    private PrintStream out;
+    private InputSource input;
+
+    @Setup
+    public void setUp() {
+        Game game = new Game(3, "Benchmark");
+        box = "Current Card: " + game.getDiscardPile().getTopCard(false).getColoredCardText(game.getActiveColor())
+                + ";Number Cards in Hand: 7;" + "-".repeat(Utility.Console.getBoxWidth() + 2) + ";" + game.getPlayer(0).getHand();
+        out = System.out;
+        input = Utility.Console.getInputSource();
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        Utility.Console.setInputSource(new AutoHumanInput(HeuristicStrategy.DEFAULT));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(out);
+        Utility.Console.setInputSource(input);
+    }
+
+    @Benchmark
+    public void writeTUIBox() {
+        Utility.Console.writeTUIBox(box, false, false);
+    }
+
+    @Benchmark
+    public int interactiveGame() {
+        return Main.playInteractiveGame(RandomGenerator.getDefault()).getWinningPlayer();
+    }
+}
@@ -0,0 +1,64 @@
+package Uno;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * JMH benchmarks of shuffling and drawing from a {@link Deck}, with the deck shuffled
+ * up front and with the lazy shuffle that only shuffles a card once it is drawn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+    private Deck deck;
+    private Deck lazyDeck;
+
+    @Setup
+    public void setUp() {
+        deck = new Deck(true);
+        lazyDeck = new Deck(true, RandomGenerator.getDefault(), true);
+    }
+
+    @Benchmark
+    public int resetDeck() {
+        deck.resetDeck();
+        return deck.getCardId(0);
+    }
+
+    @Benchmark
+    public int resetDeckLazy() {
+        lazyDeck.resetDeck();
+        return lazyDeck.getCardId(0);
+    }
+
+    @Benchmark
+    public int getTopCard() {
+        return drawCard(deck);
+    }
+
+    @Benchmark
+    public int getTopCardLazy() {
+        return drawCard(lazyDeck);
+    }
+
+    // Draws a card, refilling the deck whenever it runs out
+    private static int drawCard(Deck deck) {
+        if (deck.isEmpty()) deck.resetDeck();
+        return deck.getTopCard(true).getId();
+    }
+}
@@ -0,0 +1,47 @@
+package Uno;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link EndgameSolver}.
+ */
+class EndgameSolverTest {
+    /**
+     * Solves the end of two-player games with the default transposition table and with a
+     * table of a single entry, which hardly ever hits, and checks that the two never
+     * disagree about a win or a loss, or about how many moves it takes. A player about
+     * to play their last card must always be found to win on the spot. The solver itself
+     * fails if it does not unmake every move it made.
+     */
+    @Test
+    void transpositionTableNeverChangesTheResult() {
+        EndgameSolver solver = new EndgameSolver(50_000, 10_000);
+        EndgameSolver withoutTable = new EndgameSolver(50_000, 10_000, 0);
+        int positions = 0;
+        for (int g = 0; g < 50; g++) {
+            Game game = new Game(Simulation.createGameRandom(Simulation.getGameSeed(23, g)), 2);
+            for (int turns = 0; !game.isGameOver() && turns < Simulation.MAX_TURNS; turns++) {
+                Player player = game.getPlayer(game.getCurrentPlayer());
+                if (Games.getCardsInHands(game) <= 8 && player.getHand().hasPlayableCard()) {
+                    EndgameSolver.Result result = solver.solve(game);
+                    EndgameSolver.Result control = withoutTable.solve(game);
+                    String position = "game " + g + " turn " + turns;
+                    positions++;
+                    assertFalse(result.isProvenWin() && control.isProvenLoss(), position);
+                    assertFalse(result.isProvenLoss() && control.isProvenWin(), position);
+                    if (result.getMovesToEnd() >= 0 && control.getMovesToEnd() >= 0) {
+                        assertEquals(control.isProvenWin(), result.isProvenWin(), position);
+                        assertEquals(control.getMovesToEnd(), result.getMovesToEnd(), position);
+                    }
+                    if (player.getHand().numCardsInHand() == 1) assertEquals(1, result.getMovesToEnd(), position);
+                }
+                player.makeBotMove();
+            }
+        }
+        assertTrue(positions > 0, "no position was solved");
+    }
+}
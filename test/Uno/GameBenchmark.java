@@ -0,0 +1,107 @@
+package Uno;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of bots playing: a single bot turn, whole bot-only games with and
+ * without metrics and recording, replaying a recorded game, checkpointing a table, and
+ * a simulation on every core. A whole game's time is the inverse of the games per
+ * second one thread plays.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+    private static final int SIMULATED_GAMES = 1_000;
+
+    private Game botGame;
+    private Simulation.Result result;
+    private GameMetrics metrics;
+    private byte[] log;
+    private Game snapshotGame;
+    private final ByteBuffer snapshot = ByteBuffer.allocate(4096);
+
+    @Setup
+    public void setUp() {
+        botGame = new Game(4);
+        result = new Simulation.Result(4);
+        metrics = new GameMetrics();
+        log = Games.recordGame(new Game(4), Integer.MAX_VALUE).toByteArray();
+        snapshotGame = new Game(4);
+        for (int turn = 0; turn < 30 && !snapshotGame.isGameOver(); turn++) {
+            snapshotGame.getPlayer(snapshotGame.getCurrentPlayer()).makeBotMove();
+        }
+        snapshotGame.writeSnapshot(snapshot);
+    }
+
+    @Benchmark
+    public int makeBotMove() {
+        if (botGame.isGameOver()) botGame = new Game(4);
+        Player player = botGame.getPlayer(botGame.getCurrentPlayer());
+        player.makeBotMove();
+        return player.getHand().numCardsInHand();
+    }
+
+    @Benchmark
+    public long fullBotGame() {
+        Simulation.playGame(4, result);
+        return result.getGames();
+    }
+
+    @Benchmark
+    public int fullBotGameWithMetrics() {
+        Game game = new Game(4);
+        game.setMetrics(metrics);
+        for (int turn = 0; turn < Simulation.MAX_TURNS && !game.isGameOver(); turn++) {
+            game.getPlayer(game.getCurrentPlayer()).makeBotMove();
+        }
+        game.setMetrics(null);
+        return game.getWinningPlayer();
+    }
+
+    @Benchmark
+    public int fullBotGameRecorded() {
+        return Games.recordGame(new Game(4), Integer.MAX_VALUE).size();
+    }
+
+    @Benchmark
+    public int replayPlayToEnd() {
+        return new Replay(log).playToEnd();
+    }
+
+    @Benchmark
+    public int writeSnapshot() {
+        snapshot.clear();
+        snapshotGame.writeSnapshot(snapshot);
+        return snapshot.position();
+    }
+
+    @Benchmark
+    public int restoreSnapshot() {
+        snapshot.rewind();
+        return Game.restoreSnapshot(snapshot).getCurrentPlayer();
+    }
+
+    // Reported per game; -prof gc only counts the allocations of the benchmark's own thread
+    @Benchmark
+    @OperationsPerInvocation(SIMULATED_GAMES)
+    public long simulationOnAllCores() {
+        return Simulation.run(SIMULATED_GAMES, 4).getGames();
+    }
+}
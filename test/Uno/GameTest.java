@@ -0,0 +1,48 @@
+package Uno;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of {@link Game}.
+ */
+class GameTest {
+    /**
+     * Checkpoints many tables in the middle of their games into one reusable buffer,
+     * restores them all, and checks that every restored table writes exactly the same
+     * snapshot as the table it was restored from.
+     */
+    @Test
+    void snapshotsRestoreTheTable() {
+        RandomGenerator random = RandomGenerator.getDefault();
+        Game[] games = new Game[10_000];
+        int capacity = 0;
+        for (int i = 0; i < games.length; i++) {
+            games[i] = new Game(4);
+            for (int turn = random.nextInt(100); turn > 0 && !games[i].isGameOver(); turn--) {
+                games[i].getPlayer(games[i].getCurrentPlayer()).makeBotMove();
+            }
+            capacity += games[i].getSnapshotSize();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(capacity);
+        for (Game game : games) game.writeSnapshot(buffer);
+        buffer.flip();
+        Game[] restored = new Game[games.length];
+        for (int i = 0; i < games.length; i++) restored[i] = Game.restoreSnapshot(buffer);
+
+        buffer.rewind();
+        ByteBuffer copy = ByteBuffer.allocate(capacity);
+        for (int i = 0; i < games.length; i++) {
+            int from = buffer.position();
+            restored[i].writeSnapshot(copy);
+            buffer.position(from + games[i].getSnapshotSize());
+            assertEquals(buffer.slice(from, buffer.position() - from), copy.slice(from, copy.position() - from), "table " + i);
+        }
+        assertEquals(capacity, copy.position());
+    }
+}
@@ -0,0 +1,61 @@
+package Uno;
+
+/**
+ * Plays games for the tests and the JMH benchmarks.
+ */
+final class Games {
+    private Games() {
+    }
+
+    /**
+     * Plays a game for up to the given number of turns, recording it, with any human seat
+     * playing its last playable card. A game that is already being recorded carries on
+     * with its recorder.
+     *
+     * @param game     the table to play at
+     * @param maxTurns the number of turns after which to stop, if the game has not ended
+     * @return the recorder holding the game's log
+     */
+    static GameRecorder recordGame(Game game, int maxTurns) {
+        if (game.getRecorder() == null) game.setRecorder(new GameRecorder());
+        for (int turn = 0; turn < maxTurns && !game.isGameOver(); turn++) {
+            Player player = game.getPlayer(game.getCurrentPlayer());
+            if (player.isBot()) {
+                player.makeBotMove();
+            } else {
+                // A human seat plays its last playable card, unlike the bots, which play the first copy
+                Hand hand = player.getHand();
+                int move = hand.numCardsInHand() - 1;
+                while (move >= 0 && !hand.isPlayable(move)) move--;
+                player.action((move >= 0) ? move : hand.numCardsInHand(), Card.Colors.BLUE);
+            }
+        }
+        return game.getRecorder();
+    }
+
+    /**
+     * Replays everything recorded so far.
+     *
+     * @param recorder the recorder of the game
+     * @return the replay, played to the end of the log
+     */
+    static Replay replay(GameRecorder recorder) {
+        Replay replay = new Replay(recorder.toByteArray());
+        replay.playToEnd();
+        return replay;
+    }
+
+    /**
+     * Counts the cards in all the hands at the table.
+     *
+     * @param game the table
+     * @return the number of cards in the hands
+     */
+    static int getCardsInHands(Game game) {
+        int cards = 0;
+        for (int i = 0; i < game.getNumPlayers(); i++) {
+            cards += game.getPlayer(i).getHand().numCardsInHand();
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,74 @@
+package Uno;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks of what a turn asks of a {@link Hand}, and of the default bot choosing
+ * a card from it, for hands from the 7 cards of a new game to all 60 ids.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandBenchmark {
+    @Param({"7", "15", "30", "60"})
+    public int handSize;
+
+    private Hand hand;
+    private int[] moves;
+
+    // Several tables with different top cards, so the choice cannot be hoisted out of the loop
+    private final Game[] tables = new Game[8];
+    private final Hand[] hands = new Hand[tables.length];
+    private int table = 0;
+
+    @Setup
+    public void setUp() {
+        hand = new Hand(new Game(1), handSize);
+        moves = new int[handSize];
+        for (int t = 0; t < tables.length; t++) {
+            tables[t] = new Game(1);
+            hands[t] = new Hand(tables[t], handSize);
+        }
+    }
+
+    @Benchmark
+    public int getPlayableCardsIntoArray() {
+        return hand.getPlayableCards(moves);
+    }
+
+    @Benchmark
+    public int getPlayableCards() {
+        return hand.getPlayableCards().size();
+    }
+
+    @Benchmark
+    public Card.Colors getColorThatTheMostCardsUse() {
+        return hand.getColorThatTheMostCardsUse();
+    }
+
+    @Benchmark
+    public int chooseMove() {
+        int t = table++ & (tables.length - 1);
+        return HeuristicStrategy.DEFAULT.chooseMove(tables[t], hands[t]);
+    }
+
+    @Benchmark
+    public String handToString() {
+        return hand.toString();
+    }
+}
@@ -0,0 +1,123 @@
+package Uno;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of {@link HeuristicStrategy}.
+ */
+class HeuristicStrategyTest {
+    /**
+     * Chooses moves for hands of many sizes, some with cards taken out of the middle,
+     * against every top card number and active color, and checks that looking the cards up
+     * in the score table, and the Vector API path when it is available, choose the same
+     * card as scoring each playable card with {@link HeuristicStrategy#getScore(Card, Card, Card.Colors)}.
+     * This is done for the default weights and a few others, among them weights that
+     * score some or all playable cards 0 or less, which must still be played.
+     */
+    @Test
+    void chooseMoveMatchesScoringEveryCard() {
+        HeuristicStrategy[] strategies = {HeuristicStrategy.DEFAULT, new HeuristicStrategy(5, 30, 10, -10, 5, 8, 6),
+                new HeuristicStrategy(-3, 7, -11, 13, 0, -2, 40), new HeuristicStrategy(1, 1, 1, 1, 1, 1, 1),
+                new HeuristicStrategy(2, 15, 8, -15, 3, 5, 2, 1), new HeuristicStrategy(-20, -4, -6, -9, -1, -3, -2)};
+        RandomGenerator random = Simulation.createGameRandom(24);
+        for (int handSize : new int[]{1, 3, 7, 15, 16, 17, 31, 33, 60}) {
+            for (int trial = 0; trial < 20; trial++) {
+                Game game = new Game(random, 1);
+                Hand hand = new Hand(game, handSize + 3);
+                for (int removed = 0; removed < 3; removed++) {
+                    hand.getCardFromHand(random.nextInt(hand.numCardsInHand()), true);
+                }
+                for (HeuristicStrategy strategy : strategies) {
+                    for (int topCardNum = 0; topCardNum < Card.NUM_CARD_NUMS; topCardNum++) {
+                        for (Card.Colors activeColor : Card.Colors.values()) {
+                            int expected = chooseMoveByScore(strategy, hand, topCardNum, activeColor);
+                            long playable = hand.getCardMask() & Card.getPlayableMask(Card.of(topCardNum, activeColor), activeColor);
+                            String position = strategy + " with " + hand + " on " + topCardNum + " " + activeColor;
+                            assertEquals(expected, strategy.chooseMoveScalar(hand, playable, topCardNum, activeColor.ordinal()),
+                                    "scalar: " + position);
+                            if (HeuristicStrategy.VECTOR_API) {
+                                assertEquals(expected, strategy.chooseMoveVector(hand, playable, topCardNum, activeColor.ordinal()),
+                                        "Vector API: " + position);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Chooses the first playable card with the highest score at any score, one card at a time
+    private static int chooseMoveByScore(HeuristicStrategy strategy, Hand hand, int topCardNum, Card.Colors activeColor) {
+        Card topCard = Card.of(topCardNum, activeColor);
+        int bestIndex = hand.numCardsInHand();
+        int bestScore = Integer.MIN_VALUE;
+        for (int i = 0; i < hand.numCardsInHand(); i++) {
+            Card card = hand.getCardFromHand(i, false);
+            if (!card.isWild() && card.getCardColor() != activeColor && card.getCardNum() != topCardNum) continue;
+            int score = strategy.getScore(card, topCard, activeColor);
+            if (score > bestScore || bestIndex == hand.numCardsInHand()) {
+                bestScore = score;
+                bestIndex = i;
+            }
+        }
+        return bestIndex;
+    }
+
+    /**
+     * Saves a few strategies to a weights file and loads them back, and checks that the
+     * loaded strategy has the same weights and plays the same seeded games as the saved one.
+     *
+     * @param dir a directory for the weights file
+     * @throws IOException if the file cannot be written or read
+     */
+    @Test
+    void weightsFileLoadsTheSavedStrategy(@TempDir Path dir) throws IOException {
+        HeuristicStrategy[] strategies = {HeuristicStrategy.DEFAULT, new HeuristicStrategy(-3, 7, -11, 13, 0, -2, 40, 25),
+                new HeuristicStrategy(9, 14, 3, -20, 6, 11, 2, -4)};
+        Path file = dir.resolve("bot-weights.properties");
+        for (HeuristicStrategy strategy : strategies) {
+            strategy.save(file, "weightsFileLoadsTheSavedStrategy");
+            HeuristicStrategy loaded = HeuristicStrategy.load(file);
+            assertArrayEquals(strategy.getWeights(), loaded.getWeights());
+            for (int i = 0; i < 1_000; i++) {
+                long seed = Simulation.getGameSeed(11, i);
+                assertEquals(playSeededGame(strategy, seed), playSeededGame(loaded, seed), strategy + " seed " + seed);
+            }
+        }
+    }
+
+    /**
+     * A weights file without the wild color weight must load with it at 0.
+     *
+     * @param dir a directory for the weights file
+     * @throws IOException if the file cannot be written or read
+     */
+    @Test
+    void weightsFileWithoutWildColorWeightLoads(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("bot-weights.properties");
+        Files.writeString(file, "baseWeight=5\nactionWeight=20\nnumberWeight=10\nwildWeight=-10\n"
+                + "nonWildWeight=5\ncolorMatchWeight=8\ncardNumMatchWeight=6\n");
+        assertArrayEquals(HeuristicStrategy.DEFAULT.getWeights(), HeuristicStrategy.load(file).getWeights());
+    }
+
+    // Plays one seeded four-player game with the given strategy in every seat, and
+    // returns the number of turns times 4 plus the winner's seat
+    private static int playSeededGame(Strategy strategy, long seed) {
+        Game game = new Game(Simulation.createGameRandom(seed), strategy, strategy, strategy, strategy);
+        int turns = 0;
+        while (!game.isGameOver() && turns < Simulation.MAX_TURNS) {
+            game.getPlayer(game.getCurrentPlayer()).makeBotMove();
+            turns++;
+        }
+        return 4 * turns + (game.isGameOver() ? game.getWinningPlayer() : 0);
+    }
+}
@@ -0,0 +1,282 @@
+package Uno;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link Player}: the turns of bots and of humans answering through an
+ * {@link InputSource}, and the budgets a bot turn must stay within.
+ */
+class PlayerTest {
+    /**
+     * The most a steady-state bot turn may allocate on average. Turns themselves allocate
+     * nothing; the little that is left comes from a hand's array occasionally growing.
+     */
+    private static final double MAX_BYTES_PER_BOT_TURN = 4;
+
+    /**
+     * How much slower than the old inline scoring the default strategy may measure,
+     * to allow for timing noise.
+     */
+    private static final double MAX_STRATEGY_SLOWDOWN = 1.15;
+
+    private static final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private InputSource input;
+    private PrintStream out;
+
+    // Humans are asked through the console, so every test gets its prompts thrown away
+    // and the console's input source back afterwards
+    @BeforeEach
+    void silenceConsole() {
+        input = Utility.Console.getInputSource();
+        out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @AfterEach
+    void restoreConsole() {
+        System.setOut(out);
+        Utility.Console.setInputSource(input);
+    }
+
+    /**
+     * Deals every card that is not on top of the discard pile into one hand, so there is
+     * nothing left to draw, and lets a bot that always draws take its turn. The bot must
+     * pass, keeping its hand, instead of keeping the turn and drawing again forever.
+     */
+    @Test
+    void botPassesWhenThereIsNothingToDraw() {
+        Strategy draw = new DrawStrategy();
+        Game game = new Game(Simulation.createGameRandom(7), draw, draw, draw);
+        Hand other = game.getPlayer((game.getCurrentPlayer() + 1) % game.getNumPlayers()).getHand();
+        while (game.dealCards(other, 1) == 1) {
+            // Empty the draw pile, and the discard pile below its top card
+        }
+        int seat = game.getCurrentPlayer();
+        int handSize = game.getPlayer(seat).getHand().numCardsInHand();
+        game.getPlayer(seat).makeBotMove();
+        assertTrue(game.getDrawPile().isEmpty());
+        assertEquals(1, game.getDiscardPile().size());
+        assertNotEquals(seat, game.getCurrentPlayer());
+        assertEquals(handSize, game.getPlayer(seat).getHand().numCardsInHand());
+    }
+
+    /**
+     * Plays interactive games where a strategy answers every question for the human,
+     * recording the answers, then plays every game again from its recording against an
+     * equally seeded table. Each replayed game must end exactly like the recorded one and
+     * use up every recorded answer.
+     */
+    @Test
+    void scriptedSessionsReplayTheRecordedGame() {
+        ByteBuffer recorded = ByteBuffer.allocate(4096);
+        ByteBuffer replayed = ByteBuffer.allocate(4096);
+        for (int seed = 0; seed < 200; seed++) {
+            RecordingInput recording = new RecordingInput(new AutoHumanInput(HeuristicStrategy.DEFAULT));
+            Utility.Console.setInputSource(recording);
+            recorded.clear();
+            Main.playInteractiveGame(new SplittableRandom(seed)).writeSnapshot(recorded);
+
+            ScriptedInput script = new ScriptedInput(recording.getAnswers());
+            Utility.Console.setInputSource(script);
+            replayed.clear();
+            Main.playInteractiveGame(new SplittableRandom(seed)).writeSnapshot(replayed);
+            assertEquals(recorded.flip(), replayed.flip(), "seed " + seed);
+            assertEquals(0, script.getNumAnswersLeft(), "seed " + seed);
+        }
+    }
+
+    /**
+     * Lets the human play their second to last card without saying "Uno". The penalty
+     * card must go to the human without counting as another turn: the turn moves on to
+     * the next seat once, as after any card, and the table counts one turn.
+     */
+    @Test
+    void unoPenaltyIsNotAnotherTurn() {
+        Game game = new Game(Simulation.createGameRandom(3), 2, "Human");
+        GameMetrics metrics = new GameMetrics();
+        game.setMetrics(metrics);
+        Hand hand = game.getPlayer(0).getHand();
+        while (hand.numCardsInHand() > 0) hand.getCardFromHand(0, true);
+        hand.addCard(Card.of(5, game.getActiveColor()));
+        hand.addCard(Card.of(7, game.getActiveColor()));
+        Utility.Console.setInputSource(new ScriptedInput(List.of("1", "bye")));
+        game.getPlayer(0).queryUserAction();
+        game.setMetrics(null);
+
+        assertEquals(2, hand.numCardsInHand());
+        assertEquals(1, game.getCurrentPlayer());
+        assertEquals(1, metrics.getTurns());
+    }
+
+    /**
+     * Measures how many bytes a bot turn allocates once the JIT has warmed up, and
+     * compares it against {@link #MAX_BYTES_PER_BOT_TURN}. Only the turns are measured,
+     * not setting up the tables.
+     */
+    @Test
+    void botTurnsStayWithinTheAllocationBudget() {
+        measureBotTurnAllocation(20_000); // Warm up
+        double bytesPerTurn = measureBotTurnAllocation(20_000);
+        assertTrue(bytesPerTurn <= MAX_BYTES_PER_BOT_TURN, bytesPerTurn + " bytes/turn");
+    }
+
+    // Plays bot-only games and returns the mean number of bytes the current thread allocated per turn
+    private static double measureBotTurnAllocation(int numGames) {
+        long bytes = 0;
+        long turns = 0;
+        for (int i = 0; i < numGames; i++) {
+            Game game = new Game(4);
+            long before = threads.getCurrentThreadAllocatedBytes();
+            while (!game.isGameOver()) {
+                game.getPlayer(game.getCurrentPlayer()).makeBotMove();
+                turns++;
+            }
+            bytes += threads.getCurrentThreadAllocatedBytes() - before;
+        }
+        return (double) bytes / turns;
+    }
+
+    /**
+     * Checks that choosing a move with the default {@link HeuristicStrategy}, called through
+     * {@link Player#chooseBotMove()}, is no slower than the scoring code that used to be
+     * inlined in {@link Player}. Before measuring, other strategies are run through the same
+     * call site so that the interface call there is megamorphic, as it is in a tournament.
+     */
+    @Test
+    void defaultStrategyIsAsFastAsInlineScoring() {
+        int numPositions = 4096;
+        Game[] games = new Game[numPositions];
+        Player[] players = new Player[numPositions];
+        samplePositions(games, players);
+
+        // Make the interface call in Player.chooseBotMove megamorphic
+        Strategy[] others = {new FirstCardStrategy(), new LastCardStrategy(), new DrawStrategy()};
+        for (int i = 0; i < 50_000; i++) {
+            Game game = new Game(others);
+            game.getPlayer(i % 3).chooseBotMove();
+        }
+
+        int[] moveBuffer = new int[Deck.DECK_SIZE];
+        double inline = Double.MAX_VALUE;
+        double strategy = Double.MAX_VALUE;
+        long sink = 0;
+        // Alternate the two so both see the same JIT and machine state, and keep the best round of each
+        for (int round = 0; round < 20; round++) {
+            long start = System.nanoTime();
+            for (int rep = 0; rep < 50; rep++) {
+                for (int i = 0; i < numPositions; i++) {
+                    sink += inlineChooseMove(games[i], players[i].getHand(), moveBuffer);
+                }
+            }
+            inline = Math.min(inline, (System.nanoTime() - start) / (50.0 * numPositions));
+
+            start = System.nanoTime();
+            for (int rep = 0; rep < 50; rep++) {
+                for (int i = 0; i < numPositions; i++) {
+                    sink += players[i].chooseBotMove();
+                }
+            }
+            strategy = Math.min(strategy, (System.nanoTime() - start) / (50.0 * numPositions));
+        }
+
+        assertTrue(strategy <= inline * MAX_STRATEGY_SLOWDOWN,
+                String.format("inline %.1f ns, default strategy %.1f ns (checksum %d)", inline, strategy, sink));
+    }
+
+    /**
+     * Fills the arrays with positions from bot-only games, each at a different point of its game,
+     * together with the player whose turn it is.
+     *
+     * @param games   filled with the table of every position
+     * @param players filled with the player to move in every position
+     */
+    private static void samplePositions(Game[] games, Player[] players) {
+        for (int i = 0; i < games.length; i++) {
+            Game game;
+            do {
+                game = new Game(4);
+                for (int turn = 0; turn < i % 60 && !game.isGameOver(); turn++) {
+                    game.getPlayer(game.getCurrentPlayer()).makeBotMove();
+                }
+            } while (game.isGameOver());
+            games[i] = game;
+            players[i] = game.getPlayer(game.getCurrentPlayer());
+        }
+    }
+
+    // The bot scoring exactly as it was inlined in Player before strategies existed, as a baseline
+    private static int inlineChooseMove(Game game, Hand hand, int[] moveBuffer) {
+        Card currentCardOnDeck = game.getDiscardPile().getTopCard(false);
+        Card.Colors activeColor = game.getActiveColor();
+        int numMoves = hand.getPlayableCards(moveBuffer);
+
+        int bestIndex = -1;
+        int bestScore = 0;
+        for (int i = 0; i < numMoves; i++) {
+            int index = moveBuffer[i];
+            Card card = hand.getCardFromHand(index, false);
+            int cardNum = card.getCardNum();
+
+            int score = 5;
+            score += (cardNum > 9) ? 20 : 10;
+            score += (cardNum >= 13) ? -10 : 5;
+            score += (card.getCardColor() == activeColor) ? 8 : 0;
+            score += (cardNum == currentCardOnDeck.getCardNum()) ? 6 : 0;
+            if (score > bestScore) {
+                bestScore = score;
+                bestIndex = index;
+            }
+        }
+        return bestIndex;
+    }
+
+    // Trivial strategies, only used to make call sites megamorphic
+
+    private static class FirstCardStrategy implements Strategy {
+        public int chooseMove(Game game, Hand hand) {
+            int[] moves = new int[hand.numCardsInHand()];
+            return (hand.getPlayableCards(moves) > 0) ? moves[0] : hand.numCardsInHand();
+        }
+
+        public Card.Colors chooseWildColor(Game game, Hand hand) {
+            return Card.Colors.RED;
+        }
+    }
+
+    private static class LastCardStrategy implements Strategy {
+        public int chooseMove(Game game, Hand hand) {
+            int[] moves = new int[hand.numCardsInHand()];
+            int numMoves = hand.getPlayableCards(moves);
+            return (numMoves > 0) ? moves[numMoves - 1] : hand.numCardsInHand();
+        }
+
+        public Card.Colors chooseWildColor(Game game, Hand hand) {
+            return Card.Colors.BLUE;
+        }
+    }
+
+    private static class DrawStrategy implements Strategy {
+        public int chooseMove(Game game, Hand hand) {
+            return hand.numCardsInHand();
+        }
+
+        public Card.Colors chooseWildColor(Game game, Hand hand) {
+            return Card.Colors.GREEN;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package Uno;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link Replay}.
+ */
+class ReplayTest {
+    /**
+     * Records games, stops each of them at a random turn and at its end, and checks that
+     * replaying the log so far rebuilds exactly the live table. Every other table seats a
+     * human who plays the last playable card in their hand, so duplicates are also played
+     * from positions other than the first copy.
+     */
+    @Test
+    void replayRebuildsTheTable() {
+        RandomGenerator random = RandomGenerator.getDefault();
+        for (int i = 0; i < 2_000; i++) {
+            Game game = (i % 2 == 0) ? new Game(4) : new Game(3, "Human");
+            GameRecorder recorder = Games.recordGame(game, random.nextInt(200));
+            assertTrue(Games.replay(recorder).matches(game), "game " + i + " in the middle");
+            Games.recordGame(game, Integer.MAX_VALUE);
+            assertTrue(Games.replay(recorder).matches(game), "game " + i + " at the end");
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package Uno;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of {@link Simulation}.
+ */
+class SimulationTest {
+    /**
+     * Plays the first games of a run with a fixed seed and compares their winners and
+     * numbers of turns with the ones that seed has always produced.
+     */
+    @Test
+    void seededGamesPlayAsTheyAlwaysHave() {
+        int[][] expected = {{1, 96}, {3, 77}, {1, 254}}; // The winner and number of turns of the first games
+        for (int game = 0; game < expected.length; game++) {
+            Simulation.Result result = new Simulation.Result(4);
+            Simulation.playGame(Simulation.createGameRandom(Simulation.getGameSeed(42, game)), 4, result);
+            assertEquals(1, result.getWins(expected[game][0]), "winner of game " + game);
+            assertEquals(expected[game][1], result.getTurns(), "turns of game " + game);
+        }
+    }
+
+    /**
+     * Runs the same seeded games on one thread and on four and checks that the results are identical.
+     */
+    @Test
+    void seededRunIsTheSameOnAnyNumberOfThreads() {
+        assertEquals(Simulation.run(5_000, 4, 1, 42), Simulation.run(5_000, 4, 4, 42));
+    }
+}
@@ -0,0 +1,25 @@
+package Uno;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of {@link WeightOptimizer}.
+ */
+class WeightOptimizerTest {
+    /**
+     * Runs a short weight optimization on one thread and on four with the same seed, and
+     * checks that both find the same weights and measure the same win rates.
+     */
+    @Test
+    void seededRunIsTheSameOnAnyNumberOfThreads() {
+        WeightOptimizer optimizer = new WeightOptimizer(4, 8, 200);
+        WeightOptimizer.Result sequential = optimizer.run(HeuristicStrategy.DEFAULT, 2, 42, 1);
+        WeightOptimizer.Result parallel = optimizer.run(HeuristicStrategy.DEFAULT, 2, 42, 4);
+        assertArrayEquals(sequential.getStrategy().getWeights(), parallel.getStrategy().getWeights());
+        assertEquals(sequential.getWinRate(), parallel.getWinRate());
+        assertEquals(sequential.getDefaultWinRate(), parallel.getDefaultWinRate());
+    }
+}